@@ -0,0 +1,38 @@
+package com.easyapp.raml2springbootplugin.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+	public static final String RESULT_PATH = "target/jmh-result.json";
+
+	public static void main(final String[] args) throws Exception {
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+		if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()
+				|| commandLineOptions.shouldListWithParams() || commandLineOptions.shouldListProfilers()
+				|| commandLineOptions.shouldListResultFormats()) {
+			Main.main(args);
+			return;
+		}
+
+		final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+
+		// Allocation rate is reported next to throughput unless the gc profiler was already asked for
+		if (commandLineOptions.getProfilers().stream().noneMatch(profiler -> "gc".equals(profiler.getKlass())
+				|| GCProfiler.class.getName().equals(profiler.getKlass()))) {
+			options.addProfiler(GCProfiler.class);
+		}
+
+		if (!commandLineOptions.getResult().hasValue()) {
+			options.resultFormat(ResultFormatType.JSON).result(RESULT_PATH);
+		}
+
+		new Runner(options.build()).run();
+	}
+}
@@ -0,0 +1,191 @@
+package com.easyapp.raml2springbootplugin.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.easyapp.raml2springbootplugin.cli.RAML2SpringBootCli;
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.CodeGenerator;
+import com.easyapp.raml2springbootplugin.generate.GenerateJPA;
+import com.easyapp.raml2springbootplugin.generate.GenerateTransport;
+import com.easyapp.raml2springbootplugin.generate.RAML2SpringBoot;
+import com.easyapp.raml2springbootplugin.generate.util.ApiDefinition;
+import com.easyapp.raml2springbootplugin.generate.util.ApiModel;
+import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
+import com.easyapp.raml2springbootplugin.generate.util.RamlModelCache;
+import com.easyapp.raml2springbootplugin.generate.util.ResourceDefinition;
+import com.easyapp.raml2springbootplugin.generate.util.SchemaFingerprints;
+import com.easyapp.raml2springbootplugin.generate.util.TransportDefinition;
+import com.easyapp.raml2springbootplugin.generate.util.TypeDefinition;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GeneratorBenchmark {
+	@State(Scope.Benchmark)
+	public static class Corpus {
+		@Param({ "10", "50", "200" })
+		public int resources;
+
+		@Param({ "20", "100" })
+		public int types;
+
+		@Param({ "3" })
+		public int depth;
+
+		@Param({ "20" })
+		public int tables;
+
+		private Path projectDirectory;
+		private Path ramlFile;
+		private CodeGenConfig codeGenConfig;
+		private ApiDefinition apiDefinition;
+		private ApiModel api;
+		private final List<TypeDefinition> bodies = new ArrayList<>();
+		private final List<String> responseCodes = new ArrayList<>();
+
+		private void addBodies(final ResourceDefinition resource) {
+			resource.getMethods().forEach(method -> {
+				method.getBody().forEach(body -> addBody(body, null));
+				method.getResponses()
+						.forEach(response -> response.getBody().forEach(body -> addBody(body, response.getCode())));
+			});
+
+			resource.getResources().forEach(this::addBodies);
+		}
+
+		private void addBody(final TypeDefinition body, final String responseCode) {
+			// The same bodies ApiModel hands to addToMap
+			if (!body.getType().contains("-") && !GeneratorUtil.isScalarRAMLType(body.getType())) {
+				bodies.add(body);
+				responseCodes.add(responseCode);
+			}
+		}
+
+		@Setup(Level.Trial)
+		public void setUp() throws Exception {
+			projectDirectory = Files.createTempDirectory("raml2springboot-benchmark");
+			ramlFile = projectDirectory.resolve(SyntheticSpec.RAML_FILE);
+			new SyntheticSpec(resources, types, depth, tables).write(projectDirectory);
+
+			codeGenConfig = getCodeGenConfig();
+			apiDefinition = RamlModelCache.parse(ramlFile);
+			api = new ApiModel(apiDefinition, codeGenConfig.getExternalConfig().keysetPagination());
+			apiDefinition.getResources().forEach(this::addBodies);
+
+			// Generate once so that the measured runs regenerate an existing project like a developer would
+			RAML2SpringBoot.generate(getCodeGenConfig());
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws Exception {
+			try (final Stream<Path> files = Files.walk(projectDirectory)) {
+				files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+			}
+		}
+
+		private CodeGenConfig getCodeGenConfig() throws Exception {
+			return RAML2SpringBootCli.getCodeGenConfig(projectDirectory.toString(), SyntheticSpec.RAML_FILE);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Run {
+		private CodeGenConfig codeGenConfig;
+
+		// Every run gets its own manifest and pom session, and the JPA fingerprints are dropped so that no table
+		// is skipped as unchanged
+		@Setup(Level.Invocation)
+		public void setUp(final Corpus corpus) throws Exception {
+			Files.deleteIfExists(corpus.projectDirectory.resolve(SchemaFingerprints.FINGERPRINTS_PATH));
+			codeGenConfig = corpus.getCodeGenConfig();
+		}
+
+		// GenerateJPA only stages its output, RAML2SpringBoot.generate has already committed it
+		@TearDown(Level.Invocation)
+		public void tearDown() throws Exception {
+			codeGenConfig.getManifest().commit();
+		}
+	}
+
+	@Benchmark
+	public ApiDefinition parseRaml(final Corpus corpus) throws Exception {
+		return RamlModelCache.parse(corpus.ramlFile);
+	}
+
+	@Benchmark
+	public ApiModel apiModel(final Corpus corpus) {
+		return new ApiModel(corpus.apiDefinition, corpus.codeGenConfig.getExternalConfig().keysetPagination());
+	}
+
+	@Benchmark
+	public Map<String, TransportDefinition> addToMap(final Corpus corpus) {
+		final Map<String, TransportDefinition> transportTypes = new LinkedHashMap<>();
+
+		for (int index = 0; index < corpus.bodies.size(); index++) {
+			GeneratorUtil.addToMap(transportTypes, corpus.bodies.get(index), corpus.responseCodes.get(index));
+		}
+
+		return transportTypes;
+	}
+
+	@Benchmark
+	public void addMembers(final Corpus corpus, final Blackhole blackhole) {
+		final Map<String, TransportDefinition> transportTypes = corpus.api.getTransportTypes();
+
+		transportTypes.values().forEach(transportType -> {
+			final CodeGenerator generator = new CodeGenerator(corpus.codeGenConfig, transportType.getPackageName(),
+					null, false, transportType.getClassName(), transportType.getExtendsFrom(), null, false);
+			generator.addMembers(transportType.getDeclaredProperties(transportTypes), transportType.getPackageName());
+
+			blackhole.consume(generator);
+		});
+	}
+
+	@Benchmark
+	public StringBuilder renderTemplate() throws Exception {
+		return GeneratorUtil.getTemplate("Dockerfile", "DOCKER_BASE_IMAGE_NAME").render(
+				CodeGenerator.getOutputBuffer(), Collections.singletonMap("DOCKER_BASE_IMAGE_NAME", "openjdk:8"));
+	}
+
+	// Every transport class is emitted through the pooled output buffer and handed to the manifest
+	@Benchmark
+	public void generateTransport(final Corpus corpus, final Run run) throws Exception {
+		new GenerateTransport(corpus.api, run.codeGenConfig).create();
+	}
+
+	@Benchmark
+	public void generateJpa(final Corpus corpus, final Run run) throws Exception {
+		new GenerateJPA(corpus.api, run.codeGenConfig).create();
+	}
+
+	@Benchmark
+	public void generate(final Run run) throws Exception {
+		RAML2SpringBoot.generate(run.codeGenConfig);
+	}
+}
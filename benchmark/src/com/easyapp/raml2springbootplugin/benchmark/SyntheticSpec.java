@@ -0,0 +1,338 @@
+package com.easyapp.raml2springbootplugin.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.easyapp.raml2springbootplugin.generate.util.ColumnDefinition;
+import com.easyapp.raml2springbootplugin.generate.util.SchemaSnapshot;
+import com.easyapp.raml2springbootplugin.generate.util.TableDefinition;
+
+public class SyntheticSpec {
+	public static final String BASE_PACKAGE = "com.example.synthetic";
+	public static final String RAML_FILE = "src/main/resources/api.raml";
+	public static final String SCHEMA_SNAPSHOT = "src/main/resources/schema.yaml";
+
+	private static final String NEWLINE = "\n";
+
+	private final int resources;
+	private final int types;
+	private final int depth;
+	private final int tables;
+
+	public SyntheticSpec(final int resources, final int types, final int depth, final int tables) {
+		this.resources = resources;
+		this.types = types;
+		this.depth = depth;
+		// Only types returned by some resource have a transport the entity mappings can use
+		this.tables = Math.min(tables, Math.min(types, resources));
+	}
+
+	public int getEndpointCount() {
+		return resources * (5 + depth);
+	}
+
+	private static String getTypeName(final int type) {
+		return "Entity" + type;
+	}
+
+	private static String getTableName(final int table) {
+		return "entity_" + table;
+	}
+
+	private static void appendLine(final StringBuilder text, final int indent, final String line) {
+		for (int index = 0; index < indent; index++) {
+			text.append("  ");
+		}
+
+		text.append(line).append(NEWLINE);
+	}
+
+	private static void appendResponse(final StringBuilder text, final int indent, final String code,
+			final String type) {
+		appendLine(text, indent, code + ":");
+		appendLine(text, indent + 1, "body:");
+		appendLine(text, indent + 2, "type: " + type);
+	}
+
+	public String getTypes() {
+		final StringBuilder text = new StringBuilder();
+
+		for (int type = 0; type < types; type++) {
+			final String typeName = getTypeName(type);
+
+			appendLine(text, 0, typeName + ":");
+			appendLine(text, 1, "type: object");
+			appendLine(text, 1, "properties:");
+			appendLine(text, 2, "id: integer");
+			appendLine(text, 2, "name: string");
+			appendLine(text, 2, "code: string");
+			appendLine(text, 2, "amount: number");
+			appendLine(text, 2, "active: boolean");
+			appendLine(text, 2, "createdOn: date-only");
+
+			if (depth > 0) {
+				appendLine(text, 2, "detail: " + typeName + "Level1");
+			}
+
+			for (int level = 1; level <= depth; level++) {
+				appendLine(text, 0, typeName + "Level" + level + ":");
+				appendLine(text, 1, "type: object");
+				appendLine(text, 1, "properties:");
+				appendLine(text, 2, "label: string");
+				appendLine(text, 2, "updatedAt: datetime");
+
+				if (level < depth) {
+					appendLine(text, 2, "next: " + typeName + "Level" + (level + 1));
+				}
+			}
+
+			appendLine(text, 0, typeName + "Summary:");
+			appendLine(text, 1, "type: " + typeName);
+			appendLine(text, 1, "properties:");
+			appendLine(text, 2, "related: " + getTypeName((type + 1) % types) + "[]");
+			appendLine(text, 2, "tags: string[]");
+		}
+
+		appendLine(text, 0, "Error:");
+		appendLine(text, 1, "type: object");
+		appendLine(text, 1, "properties:");
+		appendLine(text, 2, "code: integer");
+		appendLine(text, 2, "message: string");
+		appendLine(text, 2, "timestamp: datetime");
+		appendLine(text, 0, "FieldError:");
+		appendLine(text, 1, "type: object");
+		appendLine(text, 1, "properties:");
+		appendLine(text, 2, "field: string");
+		appendLine(text, 2, "message: string");
+		appendLine(text, 0, "ValidationError:");
+		appendLine(text, 1, "type: Error");
+		appendLine(text, 1, "properties:");
+		appendLine(text, 2, "fieldErrors: FieldError[]");
+		appendLine(text, 0, "org-springframework-data-domain-Pageable:");
+		appendLine(text, 1, "type: object");
+
+		return text.toString();
+	}
+
+	public String getRaml() {
+		final StringBuilder text = new StringBuilder();
+
+		appendLine(text, 0, "#%RAML 1.0");
+		appendLine(text, 0, "title: Synthetic API");
+		appendLine(text, 0, "version: v1");
+		appendLine(text, 0, "mediaType: application/json");
+		appendLine(text, 0, "types: !include types.raml");
+		appendLine(text, 0, "traits:");
+		appendLine(text, 1, "Paginated:");
+		appendLine(text, 2, "queryParameters:");
+		appendLine(text, 3, "pageable:");
+		appendLine(text, 4, "type: org-springframework-data-domain-Pageable");
+		appendLine(text, 4, "required: false");
+		appendLine(text, 1, "Tenanted:");
+		appendLine(text, 2, "headers:");
+		appendLine(text, 3, "X-Tenant:");
+		appendLine(text, 4, "type: string");
+		appendLine(text, 1, "Searchable:");
+		appendLine(text, 2, "queryParameters:");
+		appendLine(text, 3, "q:");
+		appendLine(text, 4, "type: string");
+		appendLine(text, 4, "required: false");
+		appendLine(text, 3, "since:");
+		appendLine(text, 4, "type: date-only");
+		appendLine(text, 4, "required: false");
+
+		for (int resource = 0; resource < resources; resource++) {
+			final String resourceName = "resource" + resource;
+			final String typeName = getTypeName(resource % types);
+
+			appendLine(text, 0, "/" + resourceName + ":");
+			appendLine(text, 1, "displayName: " + resourceName);
+			appendLine(text, 1, "get:");
+			appendLine(text, 2, "is: [ Paginated, Tenanted, Searchable ]");
+			appendLine(text, 2, "responses:");
+			appendResponse(text, 3, "200", typeName + "[]");
+			appendResponse(text, 3, "500", "Error");
+			appendLine(text, 1, "post:");
+			appendLine(text, 2, "is: [ Tenanted ]");
+			appendLine(text, 2, "body:");
+			appendLine(text, 3, "type: " + typeName);
+			appendLine(text, 2, "responses:");
+			appendResponse(text, 3, "201", typeName);
+			appendResponse(text, 3, "400", "ValidationError");
+			appendResponse(text, 3, "409", "Error");
+
+			appendLine(text, 1, "/{" + resourceName + "Id}:");
+			appendLine(text, 2, "displayName: " + resourceName + "Item");
+			appendLine(text, 2, "uriParameters:");
+			appendLine(text, 3, resourceName + "Id:");
+			appendLine(text, 4, "type: integer");
+			appendLine(text, 2, "get:");
+			appendLine(text, 3, "responses:");
+			appendResponse(text, 4, "200", typeName + "Summary");
+			appendResponse(text, 4, "404", "Error");
+			appendLine(text, 2, "put:");
+			appendLine(text, 3, "body:");
+			appendLine(text, 4, "type: " + typeName);
+			appendLine(text, 3, "responses:");
+			appendResponse(text, 4, "200", typeName);
+			appendResponse(text, 4, "400", "ValidationError");
+			appendResponse(text, 4, "404", "Error");
+			appendLine(text, 2, "delete:");
+			appendLine(text, 3, "responses:");
+			appendResponse(text, 4, "204", "nil");
+			appendResponse(text, 4, "404", "Error");
+
+			// Each level is a sub-resource of the previous one returning the matching nested type
+			for (int level = 1; level <= depth; level++) {
+				final int indent = level + 1;
+
+				appendLine(text, indent, "/level" + level + ":");
+				appendLine(text, indent + 1, "displayName: " + resourceName + "Level" + level);
+				appendLine(text, indent + 1, "get:");
+				appendLine(text, indent + 2, "responses:");
+				appendResponse(text, indent + 3, "200", typeName + "Level" + level);
+				appendResponse(text, indent + 3, "404", "Error");
+			}
+		}
+
+		return text.toString();
+	}
+
+	private static void appendColumnMappings(final StringBuilder text) {
+		appendLine(text, 3, "columnMappings:");
+		appendLine(text, 4, "id: id");
+		appendLine(text, 4, "name: name");
+		appendLine(text, 4, "code: code");
+		appendLine(text, 4, "amount: amount");
+		appendLine(text, 4, "active: active");
+		appendLine(text, 4, "created_on: createdOn");
+	}
+
+	public String getConfig() {
+		final StringBuilder text = new StringBuilder();
+
+		appendLine(text, 0, "generateTests: true");
+		appendLine(text, 0, "overwriteFiles: true");
+		appendLine(text, 0, "generateHealthCheck: true");
+
+		if (tables > 0) {
+			appendLine(text, 0, "jpaConfig:");
+			appendLine(text, 1, "schemaSnapshot: " + SCHEMA_SNAPSHOT);
+			appendLine(text, 1, "tables:");
+		}
+
+		for (int table = 0; table < tables; table++) {
+			appendLine(text, 1, "- tableName: " + getTableName(table));
+
+			if (table > 0) {
+				appendLine(text, 2, "relationships:");
+				appendLine(text, 2, "- relationshipType: ManyToOne");
+				appendLine(text, 3, "referencedTableName: " + getTableName(table - 1));
+				appendLine(text, 3, "joins:");
+				appendLine(text, 3, "- columnName: parent_id");
+				appendLine(text, 4, "referencedColumnName: id");
+			}
+
+			appendLine(text, 2, "entityMappings:");
+			appendLine(text, 2, "- ramlType: " + getTypeName(table));
+			appendLine(text, 3, "useForCRUD: true");
+			appendColumnMappings(text);
+			appendLine(text, 2, "- ramlType: " + getTypeName(table) + "Summary");
+			appendColumnMappings(text);
+		}
+
+		return text.toString();
+	}
+
+	public Map<String, TableDefinition> getTableDefinitions() {
+		final Map<String, TableDefinition> tableDefinitions = new LinkedHashMap<>();
+
+		for (int table = 0; table < tables; table++) {
+			final TableDefinition tableDefinition = new TableDefinition(getTableName(table));
+			final List<ColumnDefinition> columns = new ArrayList<>();
+			final ColumnDefinition id = new ColumnDefinition("id", JDBCType.BIGINT, 1, false, true);
+			id.setPrimaryKeyOrder(1);
+
+			columns.add(id);
+			columns.add(new ColumnDefinition("name", JDBCType.VARCHAR, 2, false, false));
+			columns.add(new ColumnDefinition("code", JDBCType.VARCHAR, 3, true, false));
+			columns.add(new ColumnDefinition("amount", JDBCType.NUMERIC, 4, true, false));
+			columns.add(new ColumnDefinition("active", JDBCType.BOOLEAN, 5, false, false));
+			columns.add(new ColumnDefinition("created_on", JDBCType.DATE, 6, true, false));
+
+			if (table > 0) {
+				final ColumnDefinition parentId = new ColumnDefinition("parent_id", JDBCType.BIGINT, 7, true, false);
+				parentId.setForeignKey(getTableName(table - 1), "id");
+				columns.add(parentId);
+			}
+
+			tableDefinition.setColumns(columns);
+			tableDefinitions.put(tableDefinition.getTableName(), tableDefinition);
+		}
+
+		return tableDefinitions;
+	}
+
+	private static void write(final Path file, final String content) throws Exception {
+		Files.createDirectories(file.getParent());
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public void write(final Path projectDirectory) throws Exception {
+		final Path resourcesDirectory = projectDirectory.resolve("src/main/resources");
+		final Path snapshotPath = projectDirectory.resolve(SCHEMA_SNAPSHOT);
+
+		write(projectDirectory.resolve("pom.xml"), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NEWLINE
+				+ "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">" + NEWLINE
+				+ "  <modelVersion>4.0.0</modelVersion>" + NEWLINE
+				+ "  <parent>" + NEWLINE
+				+ "    <groupId>org.springframework.boot</groupId>" + NEWLINE
+				+ "    <artifactId>spring-boot-starter-parent</artifactId>" + NEWLINE
+				+ "    <version>1.5.8.RELEASE</version>" + NEWLINE
+				+ "  </parent>" + NEWLINE
+				+ "  <groupId>com.example</groupId>" + NEWLINE
+				+ "  <artifactId>synthetic</artifactId>" + NEWLINE
+				+ "  <version>0.0.1-SNAPSHOT</version>" + NEWLINE
+				+ "  <dependencies>" + NEWLINE
+				+ "    <dependency>" + NEWLINE
+				+ "      <groupId>org.springframework.boot</groupId>" + NEWLINE
+				+ "      <artifactId>spring-boot-starter</artifactId>" + NEWLINE
+				+ "    </dependency>" + NEWLINE
+				+ "  </dependencies>" + NEWLINE
+				+ "</project>" + NEWLINE);
+		write(projectDirectory.resolve("src/main/java").resolve(BASE_PACKAGE.replace('.', '/'))
+				.resolve("SyntheticApplication.java"), "package " + BASE_PACKAGE + ";" + NEWLINE + NEWLINE
+						+ "public class SyntheticApplication {" + NEWLINE + "}" + NEWLINE);
+		Files.createDirectories(projectDirectory.resolve("src/test/java"));
+
+		write(resourcesDirectory.resolve("api.raml"), getRaml());
+		write(resourcesDirectory.resolve("types.raml"), getTypes());
+		write(resourcesDirectory.resolve("config.yaml"), getConfig());
+		write(resourcesDirectory.resolve("application.properties"),
+				"spring.datasource.driver-class-name=org.h2.Driver" + NEWLINE
+						+ "spring.datasource.url=jdbc:h2:mem:synthetic" + NEWLINE
+						+ "spring.datasource.username=sa" + NEWLINE + "spring.datasource.password=sa" + NEWLINE);
+		write(snapshotPath, new SchemaSnapshot(getTableDefinitions()).getContent(snapshotPath));
+	}
+
+	public static void main(final String[] args) throws Exception {
+		if (args.length < 1 || args.length > 5) {
+			System.err.println("Usage: SyntheticSpec <projectDirectory> [resources] [types] [depth] [tables]");
+			System.exit(2);
+		}
+
+		final SyntheticSpec spec = new SyntheticSpec(args.length > 1 ? Integer.parseInt(args[1]) : 200,
+				args.length > 2 ? Integer.parseInt(args[2]) : 100, args.length > 3 ? Integer.parseInt(args[3]) : 3,
+				args.length > 4 ? Integer.parseInt(args[4]) : 20);
+		spec.write(Paths.get(args[0]));
+
+		System.out.println("Wrote a synthetic project with " + spec.getEndpointCount() + " endpoints to " + args[0]);
+	}
+}
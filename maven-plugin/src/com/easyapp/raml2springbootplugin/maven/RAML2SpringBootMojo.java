@@ -0,0 +1,191 @@
+package com.easyapp.raml2springbootplugin.maven;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.RAML2SpringBoot;
+import com.easyapp.raml2springbootplugin.generate.util.BuildCache;
+import com.easyapp.raml2springbootplugin.generate.util.RamlModelCache;
+
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true,
+		requiresDependencyResolution = ResolutionScope.TEST)
+public class RAML2SpringBootMojo extends AbstractMojo {
+	public static final String STAMP_PATH = "raml2springboot/generate-sources.stamp";
+
+	@Parameter(defaultValue = "${project}", readonly = true, required = true)
+	private MavenProject project;
+
+	@Parameter(property = "raml2springboot.ramlFile", defaultValue = "src/main/resources/api.raml")
+	private String ramlFile;
+
+	@Parameter(property = "raml2springboot.outputDirectory",
+			defaultValue = "${project.build.directory}/generated-sources/raml2springboot")
+	private File outputDirectory;
+
+	@Parameter(property = "raml2springboot.testOutputDirectory",
+			defaultValue = "${project.build.directory}/generated-test-sources/raml2springboot")
+	private File testOutputDirectory;
+
+	// The build does not change its own pom unless asked to
+	@Parameter(property = "raml2springboot.updatePom", defaultValue = "false")
+	private boolean updatePom;
+
+	@Parameter(property = "raml2springboot.force", defaultValue = "false")
+	private boolean force;
+
+	@Parameter(property = "raml2springboot.skip", defaultValue = "false")
+	private boolean skip;
+
+	// A database that is introspected is not a file, so it is only an input through its schema snapshot
+	private Set<Path> getInputs(final CodeGenConfig codeGenConfig) throws Exception {
+		final Path projectDirectory = Paths.get(codeGenConfig.getProjectDirectory());
+		final Set<Path> inputs = new TreeSet<>(RamlModelCache.getRamlFiles(Paths.get(codeGenConfig.getRamlFilePath())));
+
+		if (codeGenConfig.getConfigFilePath() != null) {
+			inputs.add(Paths.get(codeGenConfig.getConfigFilePath()));
+		}
+
+		inputs.add(projectDirectory.resolve("src/main/resources/application.properties"));
+		inputs.add(Paths.get(codeGenConfig.getPomFilePath()));
+
+		if (codeGenConfig.getExternalConfig().hasJpaConfig()
+				&& codeGenConfig.getExternalConfig().getJpaConfig().getSchemaSnapshot() != null) {
+			inputs.add(projectDirectory.resolve(codeGenConfig.getExternalConfig().getJpaConfig().getSchemaSnapshot()));
+		}
+
+		inputs.removeIf(input -> !Files.isRegularFile(input));
+
+		return inputs;
+	}
+
+	// Any change to the inputs that are looked at, the generator or the parameters makes the stamp differ; without
+	// the content of the generator, or with a database that has no schema snapshot to compare, there is no stamp and
+	// the sources are always generated
+	private String getStamp(final CodeGenConfig codeGenConfig, final Set<Path> inputs) {
+		final String generatorVersion = BuildCache.getGeneratorVersion();
+
+		if (generatorVersion == null || (codeGenConfig.getExternalConfig().hasJpaConfig()
+				&& codeGenConfig.getExternalConfig().getJpaConfig().getSchemaSnapshot() == null)) {
+			return null;
+		}
+
+		final StringBuilder stamp = new StringBuilder();
+
+		stamp.append("generator ").append(generatorVersion).append("\n");
+		stamp.append("outputDirectory ").append(outputDirectory.getAbsolutePath()).append("\n");
+		stamp.append("testOutputDirectory ").append(testOutputDirectory.getAbsolutePath()).append("\n");
+		stamp.append("updatePom ").append(updatePom).append("\n");
+
+		for (final Path input : inputs) {
+			stamp.append("input ").append(input).append("\n");
+		}
+
+		return stamp.toString();
+	}
+
+	private boolean isUpToDate(final Path stampFile, final String stamp, final Set<Path> inputs) throws Exception {
+		if (force || stamp == null || !Files.isRegularFile(stampFile) || !outputDirectory.isDirectory()
+				|| !stamp.equals(new String(Files.readAllBytes(stampFile), StandardCharsets.UTF_8))) {
+			return false;
+		}
+
+		final FileTime generatedTime = Files.getLastModifiedTime(stampFile);
+
+		for (final Path input : inputs) {
+			if (Files.getLastModifiedTime(input).compareTo(generatedTime) >= 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public void execute() throws MojoExecutionException {
+		if (skip) {
+			getLog().info("Skipping RAML to Spring Boot");
+			return;
+		}
+
+		final String relativeRamlFilePath = ramlFile.replace(File.separatorChar, '/');
+
+		if (!relativeRamlFilePath.startsWith("src/main/resources")) {
+			throw new MojoExecutionException("RAML file is not in the <Project>/src/main/resources directory");
+		}
+
+		try {
+			final String projectDirectory = project.getBasedir().getAbsolutePath().replace(File.separatorChar, '/');
+			final CodeGenConfig codeGenConfig = new CodeGenConfig(projectDirectory + "/" + relativeRamlFilePath,
+					relativeRamlFilePath);
+
+			Files.createDirectories(outputDirectory.toPath());
+			Files.createDirectories(testOutputDirectory.toPath());
+			codeGenConfig.setOutputDirectories(outputDirectory.getAbsolutePath(),
+					testOutputDirectory.getAbsolutePath());
+			codeGenConfig.setUpdatePom(updatePom);
+
+			// The build already resolved the dependencies, so compile verification does not start Maven again
+			if (codeGenConfig.getExternalConfig().verifyCompilation()) {
+				codeGenConfig.setClasspath(project.getTestClasspathElements());
+			}
+
+			final String configError = codeGenConfig.getConfigError();
+
+			if (configError != null) {
+				throw new MojoExecutionException("RAML to Spring Boot was NOT executed because " + configError);
+			}
+
+			project.addCompileSourceRoot(outputDirectory.getAbsolutePath());
+			project.addTestCompileSourceRoot(testOutputDirectory.getAbsolutePath());
+
+			final Path stampFile = Paths.get(project.getBuild().getDirectory(), STAMP_PATH);
+			final Set<Path> inputs = getInputs(codeGenConfig);
+			final String stamp = getStamp(codeGenConfig, inputs);
+
+			if (isUpToDate(stampFile, stamp, inputs)) {
+				getLog().info("Generated sources are up to date");
+				return;
+			}
+
+			// A failed run must not look up to date to the next build
+			Files.deleteIfExists(stampFile);
+
+			final long startTime = System.currentTimeMillis();
+			RAML2SpringBoot.generate(codeGenConfig);
+
+			getLog().info("Generated " + codeGenConfig.getManifest().getArtifactsWritten() + " files ("
+					+ codeGenConfig.getManifest().getArtifactsSkipped() + " unchanged) from " + relativeRamlFilePath
+					+ " in " + (System.currentTimeMillis() - startTime) + " ms");
+
+			if (codeGenConfig.getPomSession().isModified()) {
+				getLog().warn("pom.xml is missing dependencies or plugins the generated code needs, run once with "
+						+ "-Draml2springboot.updatePom=true to add them");
+			}
+
+			if (stamp != null) {
+				Files.createDirectories(stampFile.getParent());
+				Files.write(stampFile, stamp.getBytes(StandardCharsets.UTF_8));
+			}
+		} catch (MojoExecutionException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new MojoExecutionException(
+					"Error encountered while generating Spring Boot code, Error Message: " + e.getMessage(), e);
+		}
+	}
+}
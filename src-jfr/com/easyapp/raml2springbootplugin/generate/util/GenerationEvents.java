@@ -0,0 +1,76 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Compiled apart from src against the Java 11 API and only loaded by GenerationMetrics when the running JVM
+// provides Flight Recorder
+class GenerationEvents implements GenerationMetrics.EventSink {
+	@Name("com.easyapp.raml2springboot.Phase")
+	@Label("Generation Phase")
+	@Category("RAML to Spring Boot")
+	@Description("A phase of RAML to Spring Boot code generation")
+	@StackTrace(false)
+	static class PhaseEvent extends Event {
+		@Label("Project Directory")
+		String projectDirectory;
+
+		@Label("Phase")
+		String phase;
+	}
+
+	@Name("com.easyapp.raml2springboot.Artifact")
+	@Label("Generated Artifact")
+	@Category("RAML to Spring Boot")
+	@Description("A file produced by RAML to Spring Boot code generation")
+	@StackTrace(false)
+	static class ArtifactEvent extends Event {
+		@Label("Path")
+		String path;
+
+		@Label("Size")
+		@DataAmount
+		long bytes;
+
+		@Label("Written")
+		@Description("False when the file already had the generated content")
+		boolean written;
+	}
+
+	@Override
+	public Object beginPhase(final String projectDirectory, final String phase) {
+		final PhaseEvent event = new PhaseEvent();
+
+		if (!event.isEnabled()) {
+			return null;
+		}
+
+		event.projectDirectory = projectDirectory;
+		event.phase = phase;
+		event.begin();
+
+		return event;
+	}
+
+	@Override
+	public void commitPhase(final Object event) {
+		((PhaseEvent) event).commit();
+	}
+
+	@Override
+	public void artifact(final String path, final long bytes, final boolean written) {
+		final ArtifactEvent event = new ArtifactEvent();
+
+		if (event.isEnabled()) {
+			event.path = path;
+			event.bytes = bytes;
+			event.written = written;
+			event.commit();
+		}
+	}
+}
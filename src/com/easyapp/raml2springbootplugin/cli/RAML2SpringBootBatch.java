@@ -0,0 +1,194 @@
+package com.easyapp.raml2springbootplugin.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.RAML2SpringBoot;
+import com.easyapp.raml2springbootplugin.generate.util.RamlModelCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class RAML2SpringBootBatch {
+	public static final String REPORT_PATH = "target/raml2springboot/batch-report.json";
+	public static final String RAML_ROOT_HEADER = "#%RAML 1.0";
+
+	private final Path rootDirectory;
+	private final int threads;
+
+	private static class Result {
+		private final Path projectDirectory;
+		private final String ramlFile;
+		private boolean successful = false;
+		private long elapsedMillis = 0;
+		private int filesWritten = 0;
+		private int filesUnchanged = 0;
+		private String error = null;
+
+		private Result(final Path projectDirectory, final String ramlFile) {
+			this.projectDirectory = projectDirectory;
+			this.ramlFile = ramlFile;
+		}
+
+		private Map<String, Object> getReport() {
+			final Map<String, Object> report = new LinkedHashMap<>();
+			report.put("projectDirectory", projectDirectory.toString());
+			report.put("ramlFile", ramlFile);
+			report.put("successful", successful);
+			report.put("elapsedMillis", elapsedMillis);
+			report.put("filesWritten", filesWritten);
+			report.put("filesUnchanged", filesUnchanged);
+
+			if (error != null) {
+				report.put("error", error);
+			}
+
+			return report;
+		}
+	}
+
+	public RAML2SpringBootBatch(final Path rootDirectory, final int threads) {
+		this.rootDirectory = rootDirectory.toAbsolutePath().normalize();
+		this.threads = threads;
+	}
+
+	private static boolean isRootRaml(final Path file) {
+		if (!file.getFileName().toString().endsWith(".raml")) {
+			return false;
+		}
+
+		// Libraries, data types and other fragments carry their kind after the version
+		try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			final String header = reader.readLine();
+			return header != null && RAML_ROOT_HEADER.equals(header.trim());
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static List<String> getRamlFiles(final Path projectDirectory) throws IOException {
+		try (final Stream<Path> files = Files.walk(projectDirectory.resolve("src/main/resources"))) {
+			return files.filter(Files::isRegularFile).filter(RAML2SpringBootBatch::isRootRaml).sorted()
+					.map(file -> projectDirectory.relativize(file).toString().replace('\\', '/'))
+					.collect(Collectors.toList());
+		}
+	}
+
+	public Map<Path, List<String>> discover() throws IOException {
+		final Map<Path, List<String>> projects = new LinkedHashMap<>();
+
+		Files.walkFileTree(rootDirectory, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(final Path directory, final BasicFileAttributes attributes)
+					throws IOException {
+				final String directoryName = directory.getFileName() == null ? ""
+						: directory.getFileName().toString();
+
+				if (!directory.equals(rootDirectory) && (directoryName.startsWith(".") || "src".equals(directoryName)
+						|| "target".equals(directoryName) || "node_modules".equals(directoryName))) {
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+
+				if (Files.isRegularFile(directory.resolve("pom.xml"))
+						&& Files.isDirectory(directory.resolve("src/main/resources"))) {
+					final List<String> ramlFiles = getRamlFiles(directory);
+
+					if (!ramlFiles.isEmpty()) {
+						projects.put(directory, ramlFiles);
+					}
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+		});
+
+		return projects;
+	}
+
+	private static List<Result> generate(final Path projectDirectory, final List<String> ramlFiles) {
+		// The RAML files of one project write into the same sources and pom, so they are generated in turn
+		return ramlFiles.stream().map(ramlFile -> {
+			final Result result = new Result(projectDirectory, ramlFile);
+			final long startTime = System.currentTimeMillis();
+
+			try {
+				final CodeGenConfig codeGenConfig = RAML2SpringBootCli.getCodeGenConfig(projectDirectory.toString(),
+						ramlFile);
+				RAML2SpringBoot.generate(codeGenConfig);
+
+				result.successful = true;
+				result.filesWritten = codeGenConfig.getManifest().getArtifactsWritten();
+				result.filesUnchanged = codeGenConfig.getManifest().getArtifactsSkipped();
+			} catch (final Throwable e) {
+				result.error = String.valueOf(e.getMessage());
+			}
+
+			result.elapsedMillis = System.currentTimeMillis() - startTime;
+
+			return result;
+		}).collect(Collectors.toList());
+	}
+
+	public boolean run() throws Exception {
+		final long startTime = System.currentTimeMillis();
+		final Map<Path, List<String>> projects = discover();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, projects.size())));
+		final List<Result> results = new ArrayList<>();
+
+		try {
+			final List<Future<List<Result>>> futures = projects.entrySet().stream()
+					.map(project -> executor.submit(() -> generate(project.getKey(), project.getValue())))
+					.collect(Collectors.toList());
+
+			for (final Future<List<Result>> future : futures) {
+				results.addAll(future.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		final long elapsedMillis = System.currentTimeMillis() - startTime;
+		final long failed = results.stream().filter(result -> !result.successful).count();
+
+		results.forEach(result -> System.out.println((result.successful ? "OK     " : "FAILED ")
+				+ rootDirectory.relativize(result.projectDirectory) + " " + result.ramlFile + " ("
+				+ result.elapsedMillis + " ms" + (result.successful ? ", " + result.filesWritten + " files written"
+						: ": " + result.error)
+				+ ")"));
+		System.out.println("Generated " + (results.size() - failed) + " of " + results.size() + " RAML files in "
+				+ projects.size() + " projects in " + elapsedMillis + " ms with " + threads + " workers");
+		System.out.println(RamlModelCache.getStatistics());
+
+		final Map<String, Object> report = new LinkedHashMap<>();
+		report.put("rootDirectory", rootDirectory.toString());
+		report.put("threads", threads);
+		report.put("elapsedMillis", elapsedMillis);
+		report.put("projects", projects.size());
+		report.put("succeeded", results.size() - failed);
+		report.put("failed", failed);
+		report.put("generationMillis", results.stream().mapToLong(result -> result.elapsedMillis).sum());
+		report.put("filesWritten", results.stream().mapToInt(result -> result.filesWritten).sum());
+		report.put("filesUnchanged", results.stream().mapToInt(result -> result.filesUnchanged).sum());
+		report.put("results", results.stream().map(Result::getReport).collect(Collectors.toList()));
+
+		final Path reportPath = rootDirectory.resolve(REPORT_PATH);
+		Files.createDirectories(reportPath.getParent());
+		Files.write(reportPath, new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsBytes(report));
+
+		return failed == 0;
+	}
+}
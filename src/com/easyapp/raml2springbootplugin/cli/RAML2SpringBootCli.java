@@ -0,0 +1,103 @@
+package com.easyapp.raml2springbootplugin.cli;
+
+import java.io.File;
+import java.nio.file.Paths;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.RAML2SpringBoot;
+import com.easyapp.raml2springbootplugin.generate.util.RamlModelCache;
+
+public class RAML2SpringBootCli {
+	private static final String USAGE = "Usage:" + System.lineSeparator()
+			+ "  generate <projectDirectory> <ramlFile>          Generate once and exit" + System.lineSeparator()
+			+ "  daemon [port]                                  Keep a warm generator listening on localhost"
+			+ System.lineSeparator()
+			+ "  submit [port] <projectDirectory> <ramlFile>    Send a generation request to a running daemon"
+			+ System.lineSeparator()
+			+ "  stop [port]                                    Stop a running daemon" + System.lineSeparator()
+			+ "  watch <projectDirectory> <ramlFile>            Regenerate whenever the RAML or config changes"
+			+ System.lineSeparator()
+			+ "  batch <rootDirectory> [threads]                Generate every project with a RAML under a root"
+			+ System.lineSeparator()
+			+ "(<ramlFile> is relative to <projectDirectory> and must be in src/main/resources)";
+
+	public static CodeGenConfig getCodeGenConfig(final String projectDirectory, final String relativeRamlFilePath)
+			throws Exception {
+		final String relativePath = relativeRamlFilePath.replace(File.separatorChar, '/');
+
+		if (!relativePath.startsWith("src/main/resources")) {
+			throw new Exception("RAML file is not in the <Project>/src/main/resources directory");
+		}
+
+		final String absoluteProjectDirectory = new File(projectDirectory).getAbsolutePath()
+				.replace(File.separatorChar, '/');
+		final CodeGenConfig codeGenConfig = new CodeGenConfig(absoluteProjectDirectory + "/" + relativePath,
+				relativePath);
+		final String configError = codeGenConfig.getConfigError();
+
+		if (configError != null) {
+			throw new Exception("RAML to Spring Boot was NOT executed because " + configError);
+		}
+
+		return codeGenConfig;
+	}
+
+	public static long generate(final String projectDirectory, final String relativeRamlFilePath)
+			throws Exception {
+		final long startTime = System.currentTimeMillis();
+		RAML2SpringBoot.generate(getCodeGenConfig(projectDirectory, relativeRamlFilePath));
+
+		return System.currentTimeMillis() - startTime;
+	}
+
+	private static int getPort(final String[] args, final int portIndex, final int argsWithoutPort) {
+		return args.length > argsWithoutPort ? Integer.parseInt(args[portIndex]) : RAML2SpringBootDaemon.DEFAULT_PORT;
+	}
+
+	private static int run(final String[] args) throws Exception {
+		final String command = args.length == 0 ? "" : args[0];
+
+		if ("generate".equals(command) && args.length == 3) {
+			System.out.println("Successfully executed RAML to Spring Boot in " + generate(args[1], args[2]) + " ms");
+			System.out.println(RamlModelCache.getStatistics());
+			return 0;
+		} else if ("daemon".equals(command) && args.length <= 2) {
+			new RAML2SpringBootDaemon(getPort(args, 1, 1)).start();
+			return 0;
+		} else if ("submit".equals(command) && (args.length == 3 || args.length == 4)) {
+			final int port = getPort(args, 1, 3);
+			// The daemon runs in its own working directory, so the project is sent as an absolute path
+			final String response = RAML2SpringBootDaemon.submit(port, RAML2SpringBootDaemon.GENERATE + "\t"
+					+ new File(args[args.length - 2]).getAbsolutePath() + "\t" + args[args.length - 1]);
+			System.out.println(response);
+			return response.startsWith(RAML2SpringBootDaemon.OK) ? 0 : 1;
+		} else if ("watch".equals(command) && args.length == 3) {
+			getCodeGenConfig(args[1], args[2]);
+			new RAML2SpringBootWatcher(args[1], args[2], RAML2SpringBootWatcher.DEFAULT_DEBOUNCE_MILLIS).start();
+			return 0;
+		} else if ("batch".equals(command) && (args.length == 2 || args.length == 3)) {
+			final int threads = args.length == 3 ? Integer.parseInt(args[2])
+					: Runtime.getRuntime().availableProcessors();
+			return new RAML2SpringBootBatch(Paths.get(args[1]), threads).run() ? 0 : 1;
+		} else if ("stop".equals(command) && args.length <= 2) {
+			System.out.println(RAML2SpringBootDaemon.submit(getPort(args, 1, 1), RAML2SpringBootDaemon.SHUTDOWN));
+			return 0;
+		} else {
+			System.err.println(USAGE);
+			return 2;
+		}
+	}
+
+	public static void main(final String[] args) {
+		int exitCode = 1;
+
+		try {
+			exitCode = run(args);
+		} catch (final Throwable e) {
+			System.err.println("Error encountered while generating Spring Boot code, Error Message: " + e.getMessage());
+			e.printStackTrace();
+		}
+
+		System.exit(exitCode);
+	}
+}
@@ -0,0 +1,156 @@
+package com.easyapp.raml2springbootplugin.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import com.easyapp.raml2springbootplugin.generate.util.RamlModelCache;
+
+public class RAML2SpringBootDaemon {
+	public static final int DEFAULT_PORT = 9123;
+	public static final String GENERATE = "generate";
+	public static final String PING = "ping";
+	public static final String SHUTDOWN = "shutdown";
+	public static final String OK = "OK";
+	public static final String ERROR = "ERROR";
+
+	// A client that connects but sends no request would otherwise keep every other client waiting
+	private static final int READ_TIMEOUT = 10000;
+
+	private final int port;
+	private final String secret;
+	private volatile boolean running = true;
+
+	public RAML2SpringBootDaemon(final int port) {
+		final byte[] secretBytes = new byte[32];
+		new SecureRandom().nextBytes(secretBytes);
+
+		this.port = port;
+		this.secret = Base64.getUrlEncoder().withoutPadding().encodeToString(secretBytes);
+	}
+
+	// Every request starts with the secret the daemon wrote for its user, so other local users and processes that
+	// cannot read the file cannot make the daemon write into a directory
+	private static Path getSecretFile(final int port) {
+		return Paths.get(System.getProperty("user.home"), ".raml2springboot", "daemon-" + port + ".secret");
+	}
+
+	private static void writeSecretFile(final Path secretFile, final String secret) throws IOException {
+		Files.deleteIfExists(secretFile);
+
+		if (secretFile.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			Files.createDirectories(secretFile.getParent(),
+					PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+			Files.createFile(secretFile,
+					PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		} else {
+			Files.createDirectories(secretFile.getParent());
+			Files.createFile(secretFile);
+
+			secretFile.toFile().setReadable(false, false);
+			secretFile.toFile().setReadable(true, true);
+			secretFile.toFile().setWritable(false, false);
+			secretFile.toFile().setWritable(true, true);
+		}
+
+		Files.write(secretFile, secret.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String handle(final String message) {
+		if (message == null || message.trim().isEmpty()) {
+			return ERROR + " Empty request";
+		}
+
+		final String[] parts = message.split("\t", 2);
+
+		if (parts.length < 2 || !MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+				parts[0].getBytes(StandardCharsets.UTF_8))) {
+			return ERROR + " Invalid secret";
+		}
+
+		final String request = parts[1];
+		final String[] tokens = request.split("\t");
+
+		if (PING.equals(tokens[0])) {
+			return OK;
+		} else if (SHUTDOWN.equals(tokens[0])) {
+			running = false;
+			return OK;
+		} else if (GENERATE.equals(tokens[0]) && tokens.length == 3) {
+			try {
+				final long elapsedTime = RAML2SpringBootCli.generate(tokens[1], tokens[2]);
+				System.out.println(RamlModelCache.getStatistics());
+
+				return OK + " " + elapsedTime + " ms";
+			} catch (final Throwable e) {
+				e.printStackTrace();
+				return ERROR + " " + String.valueOf(e.getMessage()).replaceAll("\\s*[\\r\\n]+\\s*", " ");
+			}
+		} else {
+			return ERROR + " Unknown request: " + request;
+		}
+	}
+
+	public void start() throws IOException {
+		// Requests are served one at a time so that two generations never write into the same project together
+		try (final ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+			final Path secretFile = getSecretFile(port);
+			writeSecretFile(secretFile, secret);
+			System.out.println("RAML to Spring Boot daemon listening on " + serverSocket.getLocalSocketAddress());
+
+			try {
+				while (running) {
+					try (final Socket socket = serverSocket.accept();
+							final BufferedReader reader = new BufferedReader(
+									new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+							final PrintWriter writer = new PrintWriter(
+									new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+						socket.setSoTimeout(READ_TIMEOUT);
+						writer.println(handle(reader.readLine()));
+					} catch (final SocketTimeoutException e) {
+						System.out.println(
+								"No request received within " + READ_TIMEOUT + " ms, closing the connection");
+					} catch (final IOException e) {
+						e.printStackTrace();
+					}
+				}
+			} finally {
+				Files.deleteIfExists(secretFile);
+			}
+		}
+	}
+
+	public static String submit(final int port, final String request) throws IOException {
+		final String secret;
+
+		try {
+			secret = new String(Files.readAllBytes(getSecretFile(port)), StandardCharsets.UTF_8).trim();
+		} catch (final NoSuchFileException e) {
+			throw new IOException("No RAML to Spring Boot daemon of this user is running on port " + port, e);
+		}
+
+		try (final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+				final PrintWriter writer = new PrintWriter(
+						new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+				final BufferedReader reader = new BufferedReader(
+						new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+			writer.println(secret + "\t" + request);
+			return reader.readLine();
+		}
+	}
+}
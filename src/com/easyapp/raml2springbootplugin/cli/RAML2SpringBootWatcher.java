@@ -0,0 +1,135 @@
+package com.easyapp.raml2springbootplugin.cli;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.RAML2SpringBoot;
+import com.easyapp.raml2springbootplugin.generate.util.DatabaseUtil;
+import com.easyapp.raml2springbootplugin.generate.util.RamlModelCache;
+
+public class RAML2SpringBootWatcher {
+	public static final long DEFAULT_DEBOUNCE_MILLIS = 300;
+
+	private final String projectDirectory;
+	private final String relativeRamlFilePath;
+	private final long debounceMillis;
+	private final Path ramlFile;
+	private final Set<Path> configFiles = new HashSet<>();
+
+	public RAML2SpringBootWatcher(final String projectDirectory, final String relativeRamlFilePath,
+			final long debounceMillis) {
+		this.projectDirectory = projectDirectory;
+		this.relativeRamlFilePath = relativeRamlFilePath;
+		this.debounceMillis = debounceMillis;
+		this.ramlFile = Paths.get(projectDirectory, relativeRamlFilePath).toAbsolutePath().normalize();
+
+		// The files besides the RAML that CodeGenConfig reads
+		final Path resourcesDirectory = Paths.get(projectDirectory, "src", "main", "resources").toAbsolutePath()
+				.normalize();
+		configFiles.add(resourcesDirectory.resolve("config.yaml"));
+		configFiles.add(resourcesDirectory.resolve("config.json"));
+		configFiles.add(resourcesDirectory.resolve("application.properties"));
+	}
+
+	private Set<Path> getWatchedFiles() throws Exception {
+		final Set<Path> watchedFiles = RamlModelCache.getRamlFiles(ramlFile);
+		watchedFiles.addAll(configFiles);
+
+		return watchedFiles;
+	}
+
+	private void register(final WatchService watchService, final Set<Path> watchedFiles,
+			final Set<Path> watchedDirectories) throws Exception {
+		for (final Path watchedFile : watchedFiles) {
+			final Path directory = watchedFile.getParent();
+
+			if (directory.toFile().isDirectory() && watchedDirectories.add(directory)) {
+				directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+			}
+		}
+	}
+
+	private void generate(final String reason) {
+		try {
+			final long startTime = System.currentTimeMillis();
+			final CodeGenConfig codeGenConfig = RAML2SpringBootCli.getCodeGenConfig(projectDirectory,
+					relativeRamlFilePath);
+			RAML2SpringBoot.generate(codeGenConfig);
+
+			System.out.println(reason + ": generated in " + (System.currentTimeMillis() - startTime) + " ms, "
+					+ codeGenConfig.getManifest().getArtifactsWritten() + " files written, "
+					+ codeGenConfig.getManifest().getArtifactsSkipped() + " unchanged");
+		} catch (final Throwable e) {
+			// A broken intermediate save should not end the watch, the next save is generated again
+			System.err.println(reason + ": generation failed, Error Message: " + e.getMessage());
+		}
+	}
+
+	public void start() throws Exception {
+		// The RAML model is kept warm by RamlModelCache, database metadata is kept until the config changes
+		DatabaseUtil.setKeepMetadata(true);
+
+		try (final WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			final Set<Path> watchedDirectories = new HashSet<>();
+			Set<Path> watchedFiles = getWatchedFiles();
+			register(watchService, watchedFiles, watchedDirectories);
+
+			generate("Initial generation");
+			System.out.println("Watching " + watchedFiles.size() + " files for changes (Ctrl+C to stop)");
+
+			while (true) {
+				WatchKey watchKey = watchService.take();
+				final Set<Path> changedFiles = new LinkedHashSet<>();
+
+				// Editors save in bursts (temporary file, rename, touch), so wait until the files stay quiet
+				while (watchKey != null) {
+					final Path directory = (Path) watchKey.watchable();
+
+					for (final WatchEvent<?> event : watchKey.pollEvents()) {
+						if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+							changedFiles.addAll(watchedFiles);
+						} else {
+							final Path changedFile = directory.resolve((Path) event.context());
+
+							if (watchedFiles.contains(changedFile)) {
+								changedFiles.add(changedFile);
+							}
+						}
+					}
+
+					watchKey.reset();
+					watchKey = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+				}
+
+				if (changedFiles.isEmpty()) {
+					continue;
+				}
+
+				if (changedFiles.stream().anyMatch(configFiles::contains)) {
+					DatabaseUtil.clearKeptMetadata();
+				}
+
+				generate("Changed " + changedFiles.stream().map(changedFile -> changedFile.getFileName().toString())
+						.collect(Collectors.joining(", ")));
+
+				// Includes may have been added or removed by the change
+				watchedFiles = getWatchedFiles();
+				register(watchService, watchedFiles, watchedDirectories);
+			}
+		} finally {
+			DatabaseUtil.setKeepMetadata(false);
+		}
+	}
+}
@@ -7,10 +7,16 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Properties;
 
 import org.springframework.util.StringUtils;
 
+import com.easyapp.raml2springbootplugin.generate.util.BuildCache;
+import com.easyapp.raml2springbootplugin.generate.util.EntityMappingIndex;
+import com.easyapp.raml2springbootplugin.generate.util.GenerationManifest;
+import com.easyapp.raml2springbootplugin.generate.util.GenerationMetrics;
+import com.easyapp.raml2springbootplugin.generate.util.PomSession;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
@@ -23,6 +29,14 @@ public class CodeGenConfig {
 	private String basePackage = null;
 	private Properties applicationProperties = new Properties();
 	private ExternalConfig externalConfig = null;
+	private String configFilePath = null;
+	private boolean updatePom = true;
+	private List<String> classpath = null;
+	private GenerationManifest manifest = null;
+	private PomSession pomSession = null;
+	private GenerationMetrics metrics = null;
+	private BuildCache buildCache = null;
+	private EntityMappingIndex entityMappingIndex = null;
 
 	private void getBasePackage(final String directoryPath) {
 		if (basePackage == null) {
@@ -45,6 +59,7 @@ public class CodeGenConfig {
 		if (Files.exists(Paths.get(configFilePath)) && Files.isReadable(Paths.get(configFilePath))) {
 			final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
 			externalConfig = mapper.readValue(new File(configFilePath), ExternalConfig.class);
+			this.configFilePath = configFilePath;
 		}
 	}
 
@@ -52,6 +67,7 @@ public class CodeGenConfig {
 		if (Files.exists(Paths.get(configFilePath)) && Files.isReadable(Paths.get(configFilePath))) {
 			final ObjectMapper mapper = new ObjectMapper();
 			externalConfig = mapper.readValue(new File(configFilePath), ExternalConfig.class);
+			this.configFilePath = configFilePath;
 		}
 	}
 
@@ -168,15 +184,83 @@ public class CodeGenConfig {
 		return testDirectory;
 	}
 
+	// The base package is still looked up in src/main/java, only the generated classes go to the new directories
+	public void setOutputDirectories(final String sourceDirectory, final String testDirectory) {
+		this.sourceDirectory = sourceDirectory;
+		this.testDirectory = testDirectory;
+	}
+
 	public String getPomFilePath() {
 		return pomFilePath;
 	}
 
+	public boolean updatePom() {
+		return updatePom;
+	}
+
+	public void setUpdatePom(final boolean updatePom) {
+		this.updatePom = updatePom;
+	}
+
+	public List<String> getClasspath() {
+		return classpath;
+	}
+
+	// Used by compile verification instead of resolving the classpath from pom.xml
+	public void setClasspath(final List<String> classpath) {
+		this.classpath = classpath;
+	}
+
 	public ExternalConfig getExternalConfig() {
 		return externalConfig;
 	}
 
+	public String getConfigFilePath() {
+		return configFilePath;
+	}
+
 	public String getApplicationProperty(final String propertyName) {
 		return applicationProperties.getProperty(propertyName);
 	}
+
+	public synchronized GenerationManifest getManifest() {
+		if (manifest == null) {
+			manifest = new GenerationManifest(projectDirectory, getMetrics());
+		}
+
+		return manifest;
+	}
+
+	public synchronized PomSession getPomSession() throws Exception {
+		if (pomSession == null) {
+			pomSession = new PomSession(this);
+		}
+
+		return pomSession;
+	}
+
+	public synchronized GenerationMetrics getMetrics() {
+		if (metrics == null) {
+			metrics = new GenerationMetrics(projectDirectory);
+		}
+
+		return metrics;
+	}
+
+	public synchronized EntityMappingIndex getEntityMappingIndex() {
+		if (entityMappingIndex == null) {
+			entityMappingIndex = new EntityMappingIndex(externalConfig.getJpaConfig());
+		}
+
+		return entityMappingIndex;
+	}
+
+	// A relative build cache directory is resolved against the project, so CI can mount it inside the checkout
+	public synchronized BuildCache getBuildCache() {
+		if (buildCache == null && externalConfig.getBuildCache() != null) {
+			buildCache = new BuildCache(Paths.get(projectDirectory).resolve(externalConfig.getBuildCache()));
+		}
+
+		return buildCache;
+	}
 }
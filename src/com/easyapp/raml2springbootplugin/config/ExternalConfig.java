@@ -16,6 +16,12 @@ public class ExternalConfig {
 	private boolean generateHealthCheck = true;
 	private DockerConfig dockerConfig = null;
 	private JpaConfig jpaConfig = null;
+	private CacheConfig cacheConfig = null;
+	private HttpCacheConfig httpCacheConfig = null;
+	private StreamingConfig streamingConfig = null;
+	private String buildCache = null;
+	private boolean verifyCompilation = false;
+	private boolean keysetPagination = false;
 
 	public static class DockerConfig {
 		private String dockerHost = null;
@@ -70,11 +76,19 @@ public class ExternalConfig {
 
 	public static class JpaConfig {
 		private List<Table> tables = null;
+		private String introspection = "bulk";
+		private int introspectionThreads = 4;
+		private String schemaSnapshot = null;
+		private boolean refreshSchemaSnapshot = false;
 
 		public static class Table {
 			private String tableName = null;
 			private String sequenceName = null;
 			private int sequenceIncrement = 1;
+			// A whole number column becomes the JPA version, any other type must be maintained by the database
+			private String etagColumn = null;
+			private String sortColumn = null;
+			private boolean estimatedCount = false;
 			private List<Relationship> relationships = null;
 			private List<EntityMapping> entityMappings = null;
 
@@ -332,6 +346,30 @@ public class ExternalConfig {
 				this.sequenceName = sequenceName;
 			}
 
+			public String getEtagColumn() {
+				return etagColumn;
+			}
+
+			public void setEtagColumn(final String etagColumn) {
+				this.etagColumn = etagColumn;
+			}
+
+			public String getSortColumn() {
+				return sortColumn;
+			}
+
+			public void setSortColumn(final String sortColumn) {
+				this.sortColumn = sortColumn;
+			}
+
+			public boolean estimatedCount() {
+				return estimatedCount;
+			}
+
+			public void setEstimatedCount(final boolean estimatedCount) {
+				this.estimatedCount = estimatedCount;
+			}
+
 			public int getSequenceIncrement() {
 				return sequenceIncrement;
 			}
@@ -389,16 +427,277 @@ public class ExternalConfig {
 			this.tables = tables;
 		}
 
+		public String getIntrospection() {
+			return introspection;
+		}
+
+		public void setIntrospection(final String introspection) {
+			this.introspection = introspection;
+		}
+
+		public int getIntrospectionThreads() {
+			return introspectionThreads;
+		}
+
+		public void setIntrospectionThreads(final int introspectionThreads) {
+			this.introspectionThreads = introspectionThreads;
+		}
+
+		public String getSchemaSnapshot() {
+			return schemaSnapshot;
+		}
+
+		public void setSchemaSnapshot(final String schemaSnapshot) {
+			this.schemaSnapshot = schemaSnapshot;
+		}
+
+		public boolean refreshSchemaSnapshot() {
+			return refreshSchemaSnapshot;
+		}
+
+		public void setRefreshSchemaSnapshot(final boolean refreshSchemaSnapshot) {
+			this.refreshSchemaSnapshot = refreshSchemaSnapshot;
+		}
+
 		public String getConfigError() {
 			if (tables == null || tables.isEmpty()) {
 				return "Missing tables in JPA Config";
+			} else if (!"bulk".equals(introspection) && !"parallel".equals(introspection)) {
+				return "Introspection should be one of [bulk, parallel] in JPA Config";
+			} else if (introspectionThreads < 1) {
+				return "Introspection Threads should be at least 1 in JPA Config";
+			} else if (schemaSnapshot != null && !schemaSnapshot.endsWith(".json") && !schemaSnapshot.endsWith(".yaml")
+					&& !schemaSnapshot.endsWith(".yml")) {
+				return "Schema Snapshot " + schemaSnapshot + " should be a .json, .yaml or .yml file in JPA Config";
+			}
+
+			final String tableConfigError = tables.stream().map(table -> table.getConfigError())
+					.filter(configError -> configError != null).findAny().orElse(null);
+
+			if (tableConfigError != null) {
+				return tableConfigError;
+			}
+
+			// The database metadata is matched to the tables by their upper case names
+			final Map<String, String> tableNames = new HashMap<>();
+
+			for (final Table table : tables) {
+				final String otherTableName = tableNames.putIfAbsent(table.getTableName().toUpperCase(),
+						table.getTableName());
+
+				if (otherTableName != null && !otherTableName.equals(table.getTableName())) {
+					return "Tables " + otherTableName + " and " + table.getTableName()
+							+ " differ only in case in JPA Config";
+				}
+			}
+
+			return null;
+		}
+	}
+
+	public static class CacheConfig {
+		private long maximumSize = 1000;
+		private long expireAfterWrite = 600;
+		private List<Cache> caches = null;
+
+		public static class Cache {
+			private String cacheName = null;
+			private String tableName = null;
+			private String resourcePath = null;
+			private Long maximumSize = null;
+			private Long expireAfterWrite = null;
+
+			public String getCacheName() {
+				return cacheName;
+			}
+
+			public void setCacheName(final String cacheName) {
+				this.cacheName = cacheName;
+			}
+
+			public String getTableName() {
+				return tableName;
+			}
+
+			public void setTableName(final String tableName) {
+				this.tableName = tableName;
+			}
+
+			public String getResourcePath() {
+				return resourcePath;
+			}
+
+			public void setResourcePath(final String resourcePath) {
+				this.resourcePath = resourcePath;
+			}
+
+			public Long getMaximumSize() {
+				return maximumSize;
+			}
+
+			public void setMaximumSize(final Long maximumSize) {
+				this.maximumSize = maximumSize;
+			}
+
+			public Long getExpireAfterWrite() {
+				return expireAfterWrite;
+			}
+
+			public void setExpireAfterWrite(final Long expireAfterWrite) {
+				this.expireAfterWrite = expireAfterWrite;
+			}
+
+			public String getConfigError(final JpaConfig jpaConfig) {
+				if (StringUtils.isEmpty(tableName) == StringUtils.isEmpty(resourcePath)) {
+					return "Either Table Name or Resource Path should be set for a cache in Cache Config";
+				}
+
+				if (!StringUtils.isEmpty(resourcePath) && !resourcePath.startsWith("/")) {
+					return "Resource Path " + resourcePath + " should start with / in Cache Config";
+				}
+
+				if (!StringUtils.isEmpty(tableName) && (jpaConfig == null || jpaConfig.getTables() == null
+						|| jpaConfig.getTables().stream().noneMatch(table -> tableName.equals(table.getTableName())))) {
+					return "Table " + tableName + " in Cache Config is missing in JPA Config";
+				}
+
+				if ((maximumSize != null && maximumSize < 1) || (expireAfterWrite != null && expireAfterWrite < 1)) {
+					return "Maximum Size and Expire After Write should be at least 1 for cache "
+							+ (StringUtils.isEmpty(tableName) ? resourcePath : tableName) + " in Cache Config";
+				}
+
+				return null;
+			}
+		}
+
+		public long getMaximumSize() {
+			return maximumSize;
+		}
+
+		public void setMaximumSize(final long maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		public long getExpireAfterWrite() {
+			return expireAfterWrite;
+		}
+
+		public void setExpireAfterWrite(final long expireAfterWrite) {
+			this.expireAfterWrite = expireAfterWrite;
+		}
+
+		public List<Cache> getCaches() {
+			return caches;
+		}
+
+		public void setCaches(final List<Cache> caches) {
+			this.caches = caches;
+		}
+
+		public long getMaximumSize(final Cache cache) {
+			return cache.getMaximumSize() == null ? maximumSize : cache.getMaximumSize();
+		}
+
+		public long getExpireAfterWrite(final Cache cache) {
+			return cache.getExpireAfterWrite() == null ? expireAfterWrite : cache.getExpireAfterWrite();
+		}
+
+		public String getConfigError(final JpaConfig jpaConfig) {
+			if (caches == null || caches.isEmpty()) {
+				return "Missing caches in Cache Config";
+			} else if (maximumSize < 1 || expireAfterWrite < 1) {
+				return "Maximum Size and Expire After Write should be at least 1 in Cache Config";
 			} else {
-				return tables.stream().map(table -> table.getConfigError()).filter(configError -> configError != null)
-						.findAny().orElse(null);
+				return caches.stream().map(cache -> cache.getConfigError(jpaConfig))
+						.filter(configError -> configError != null).findAny().orElse(null);
 			}
 		}
 	}
 
+	public static class HttpCacheConfig {
+		private boolean generateEtags = true;
+		private Long maxAge = null;
+		private Map<String, Long> maxAges = new HashMap<>();
+
+		public boolean generateEtags() {
+			return generateEtags;
+		}
+
+		public void setGenerateEtags(final boolean generateEtags) {
+			this.generateEtags = generateEtags;
+		}
+
+		public Long getMaxAge() {
+			return maxAge;
+		}
+
+		public void setMaxAge(final Long maxAge) {
+			this.maxAge = maxAge;
+		}
+
+		public Map<String, Long> getMaxAges() {
+			return maxAges;
+		}
+
+		public void setMaxAges(final Map<String, Long> maxAges) {
+			this.maxAges = maxAges == null ? new HashMap<>() : maxAges;
+		}
+
+		// The max age of the longest resource path the resource falls under
+		public Long getMaxAge(final String resourcePath) {
+			return maxAges.entrySet().stream()
+					.filter(maxAge -> resourcePath.equals(maxAge.getKey())
+							|| resourcePath.startsWith(maxAge.getKey() + "/"))
+					.max((e1, e2) -> Integer.compare(e1.getKey().length(), e2.getKey().length()))
+					.map(Map.Entry::getValue).orElse(maxAge);
+		}
+
+		public String getConfigError() {
+			if (maxAge != null && maxAge < 0) {
+				return "Max Age should not be negative in HTTP Cache Config";
+			}
+
+			return maxAges.entrySet().stream()
+					.map(maxAge -> !maxAge.getKey().startsWith("/")
+							? "Resource Path " + maxAge.getKey() + " should start with / in HTTP Cache Config"
+							: maxAge.getValue() == null || maxAge.getValue() < 0
+									? "Max Age for " + maxAge.getKey() + " should not be negative in HTTP Cache Config"
+									: null)
+					.filter(configError -> configError != null).findAny().orElse(null);
+		}
+	}
+
+	public static class StreamingConfig {
+		private int fetchSize = 500;
+		private Long timeout = null;
+
+		public int getFetchSize() {
+			return fetchSize;
+		}
+
+		public void setFetchSize(final int fetchSize) {
+			this.fetchSize = fetchSize;
+		}
+
+		public Long getTimeout() {
+			return timeout;
+		}
+
+		public void setTimeout(final Long timeout) {
+			this.timeout = timeout;
+		}
+
+		public String getConfigError() {
+			if (fetchSize == 0) {
+				return "Fetch Size should not be 0 in Streaming Config";
+			} else if (timeout != null && timeout < 0) {
+				return "Timeout should not be negative in Streaming Config";
+			}
+
+			return null;
+		}
+	}
+
 	public boolean generateTests() {
 		return generateTests;
 	}
@@ -447,6 +746,66 @@ public class ExternalConfig {
 		this.jpaConfig = jpaConfig;
 	}
 
+	public boolean hasCacheConfig() {
+		return cacheConfig != null;
+	}
+
+	public CacheConfig getCacheConfig() {
+		return cacheConfig;
+	}
+
+	public void setCacheConfig(final CacheConfig cacheConfig) {
+		this.cacheConfig = cacheConfig;
+	}
+
+	public boolean hasHttpCacheConfig() {
+		return httpCacheConfig != null;
+	}
+
+	public HttpCacheConfig getHttpCacheConfig() {
+		return httpCacheConfig;
+	}
+
+	public void setHttpCacheConfig(final HttpCacheConfig httpCacheConfig) {
+		this.httpCacheConfig = httpCacheConfig;
+	}
+
+	public boolean hasStreamingConfig() {
+		return streamingConfig != null;
+	}
+
+	public StreamingConfig getStreamingConfig() {
+		return streamingConfig;
+	}
+
+	public void setStreamingConfig(final StreamingConfig streamingConfig) {
+		this.streamingConfig = streamingConfig;
+	}
+
+	public boolean verifyCompilation() {
+		return verifyCompilation;
+	}
+
+	public void setVerifyCompilation(final boolean verifyCompilation) {
+		this.verifyCompilation = verifyCompilation;
+	}
+
+	public boolean keysetPagination() {
+		return keysetPagination;
+	}
+
+	public void setKeysetPagination(final boolean keysetPagination) {
+		this.keysetPagination = keysetPagination;
+	}
+
+	public String getBuildCache() {
+		return buildCache;
+	}
+
+	public void setBuildCache(final String buildCache) {
+		this.buildCache = buildCache;
+	}
+
 	public String getConfigError() {
 		String configError = null;
 
@@ -458,6 +817,18 @@ public class ExternalConfig {
 			configError = jpaConfig.getConfigError();
 		}
 
+		if (configError == null && hasCacheConfig()) {
+			configError = cacheConfig.getConfigError(jpaConfig);
+		}
+
+		if (configError == null && hasHttpCacheConfig()) {
+			configError = httpCacheConfig.getConfigError();
+		}
+
+		if (configError == null && hasStreamingConfig()) {
+			configError = streamingConfig.getConfigError();
+		}
+
 		return configError;
 	}
 }
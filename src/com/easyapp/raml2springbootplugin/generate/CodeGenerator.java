@@ -1,28 +1,32 @@
 package com.easyapp.raml2springbootplugin.generate;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.JDBCType;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
-import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
 import org.springframework.util.StringUtils;
 
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
 import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig.Table;
 import com.easyapp.raml2springbootplugin.generate.util.ColumnDefinition;
 import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
+import com.easyapp.raml2springbootplugin.generate.util.TypeDefinition;
 
 public class CodeGenerator {
 	public static final String NEWLINE = System.getProperty("line.separator");
@@ -33,12 +37,26 @@ public class CodeGenerator {
 	public static final String DEFAULT_TRANSPORT_PACKAGE = "transport";
 	public static final String ERROR_TRANSPORT_PACKAGE = "error";
 
+	public static final String SPILL_DIRECTORY = "target/raml2springboot/spill";
+
+	// Generated classes are written one at a time per thread, so each thread reuses a single output buffer
+	private static final ThreadLocal<StringBuilder> outputBuffer = ThreadLocal
+			.withInitial(() -> new StringBuilder(16 * 1024));
+
+	// Class bodies beyond this many characters are streamed to a file, so memory stays the same for any spec size
+	private static final int SPILL_THRESHOLD = 256 * 1024;
+
 	private final CodeGenConfig codeGenConfig;
 	private final String packageName;
 	private final Path codeFilePath;
 	private final Map<String, Set<String>> imports = new HashMap<>();
-	private final StringBuffer codeBlock = new StringBuffer();
-	private final List<String> codeBlocks = new ArrayList<>();
+	private final StringBuilder codeBlock = new StringBuilder();
+	private StringBuilder codeBlocks = new StringBuilder();
+	private int codeBlockCount = 0;
+	private Path spillFile = null;
+	private Writer spillWriter = null;
+	private final NavigableMap<Integer, String> origins = new TreeMap<>();
+	private int bodyLineCount = 0;
 
 	private String getJavaPrimitiveType(final String strippedFieldType, final String transportPackageName) {
 		String javaDataType = GeneratorUtil.getJavaPrimitiveType(strippedFieldType);
@@ -50,7 +68,7 @@ public class CodeGenerator {
 
 			if (strippedFieldType.contains("Page")) {
 				try {
-					GeneratorUtil.addMavenDependency(codeGenConfig, "org.springframework.boot",
+					codeGenConfig.getPomSession().addDependency("org.springframework.boot",
 							"spring-boot-starter-data-jpa", null, null);
 				} catch (Exception e) {
 					throw new RuntimeException(e);
@@ -68,10 +86,21 @@ public class CodeGenerator {
 	}
 
 	public String getJavaType(final String fieldType, final String transportPackageName, final boolean pageType) {
+		return getJavaType(fieldType, transportPackageName, pageType, false);
+	}
+
+	public String getJavaType(final String fieldType, final String transportPackageName, final boolean pageType,
+			final boolean sliceType) {
 		final String strippedFieldType = fieldType == null ? "" : fieldType.replaceAll("\\[\\]", "");
 
 		if (strippedFieldType.equals(fieldType)) {
 			return getJavaPrimitiveType(strippedFieldType, transportPackageName);
+		} else if (sliceType) {
+			addImport("org.springframework.data.domain.Slice");
+			return "Slice<" + getJavaPrimitiveType(strippedFieldType, transportPackageName) + ">";
+		} else if (pageType && codeGenConfig.getExternalConfig().keysetPagination()) {
+			addImport(codeGenConfig.getBasePackage() + ".pagination.KeysetPage");
+			return "KeysetPage<" + getJavaPrimitiveType(strippedFieldType, transportPackageName) + ">";
 		} else if (pageType) {
 			addImport("org.springframework.data.domain.Page");
 			return "Page<" + getJavaPrimitiveType(strippedFieldType, transportPackageName) + ">";
@@ -87,9 +116,8 @@ public class CodeGenerator {
 		if (javaDataType.endsWith("Date") || javaDataType.endsWith("Time")) {
 			addImport("java.time." + javaDataType);
 			try {
-				GeneratorUtil.createAttributeConverter(codeGenConfig.getSourceDirectory(),
-						codeGenConfig.getBasePackage() + ".repository", javaDataType,
-						codeGenConfig.getExternalConfig().overwriteFiles());
+				GeneratorUtil.createAttributeConverter(codeGenConfig, codeGenConfig.getBasePackage() + ".repository",
+						javaDataType);
 			} catch (Exception e) {
 				throw new RuntimeException(e);
 			}
@@ -101,27 +129,25 @@ public class CodeGenerator {
 		return javaDataType;
 	}
 
+	private static String getPackageName(final CodeGenConfig codeGenConfig, final String packageNameSuffix) {
+		return StringUtils.isEmpty(packageNameSuffix) ? codeGenConfig.getBasePackage()
+				: codeGenConfig.getBasePackage() + "." + packageNameSuffix;
+	}
+
+	public static Path getCodeFilePath(final CodeGenConfig codeGenConfig, final String packageNameSuffix,
+			final String className, final boolean test) {
+		return Paths.get((test ? codeGenConfig.getTestDirectory() : codeGenConfig.getSourceDirectory()) + File.separator
+				+ getPackageName(codeGenConfig, packageNameSuffix).replace(".", File.separator) + File.separator
+				+ className + ".java");
+	}
+
 	public CodeGenerator(final CodeGenConfig codeGenConfig, final String packageNameSuffix,
 			final List<String> classAnnotations, final boolean isInterface, final String className,
 			final String extendsFrom, final List<String> implementsList, final boolean test) {
 		this.codeGenConfig = codeGenConfig;
-		this.packageName = StringUtils.isEmpty(packageNameSuffix) ? codeGenConfig.getBasePackage()
-				: codeGenConfig.getBasePackage() + "." + packageNameSuffix;
-
-		final File directory = new File((test ? codeGenConfig.getTestDirectory() : codeGenConfig.getSourceDirectory())
-				+ File.separator + packageName.replace(".", File.separator));
-
-		if (!directory.exists()) {
-			directory.mkdirs();
-		}
+		this.packageName = getPackageName(codeGenConfig, packageNameSuffix);
+		this.codeFilePath = getCodeFilePath(codeGenConfig, packageNameSuffix, className, test);
 
-		String filePath = directory + File.separator + className + ".java";
-
-		if (Files.exists(Paths.get(filePath)) && !codeGenConfig.getExternalConfig().overwriteFiles()) {
-			filePath += ".MERGE";
-		}
-
-		this.codeFilePath = Paths.get(filePath);
 		this.codeBlock
 				.append(classAnnotations == null ? "" : classAnnotations.stream().collect(Collectors.joining(NEWLINE)))
 				.append(classAnnotations == null ? "" : NEWLINE).append("public ")
@@ -144,42 +170,103 @@ public class CodeGenerator {
 		}
 	}
 
-	public final void writeCode() {
-		codeBlock.append(codeBlocks.stream().collect(Collectors.joining(NEWLINE))).append("}").append(NEWLINE);
+	public static StringBuilder getOutputBuffer() {
+		final StringBuilder output = outputBuffer.get();
+		output.setLength(0);
+
+		return output;
+	}
+
+	private void spill() throws IOException {
+		final Path spillDirectory = Paths.get(codeGenConfig.getProjectDirectory(), SPILL_DIRECTORY);
+		Files.createDirectories(spillDirectory);
+
+		spillFile = Files.createTempFile(spillDirectory, codeFilePath.getFileName().toString(), ".body");
+		spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8);
+		spillWriter.append(codeBlocks);
+		codeBlocks = null;
+	}
+
+	private void appendCode(final String code) {
+		for (int index = code.indexOf('\n'); index >= 0; index = code.indexOf('\n', index + 1)) {
+			bodyLineCount++;
+		}
 
 		try {
-			final BufferedWriter writer = Files.newBufferedWriter(codeFilePath);
-
-			writer.write("package " + packageName + ";");
-			writer.newLine();
-			writer.newLine();
-
-			if (imports.size() > 0) {
-				imports.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(org -> {
-					try {
-						writer.write(
-								org.getValue().stream().sorted().map(importResource -> "import " + importResource + ";")
-										.collect(Collectors.joining(NEWLINE)));
-						writer.newLine();
-						writer.newLine();
-					} catch (IOException e) {
-						e.printStackTrace();
-					}
-				});
+			if (spillWriter != null) {
+				spillWriter.write(code);
+			} else {
+				codeBlocks.append(code);
+
+				if (codeBlocks.length() > SPILL_THRESHOLD) {
+					spill();
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public final void writeCode() {
+		final StringBuilder code = getOutputBuffer();
+		code.append("package ").append(packageName).append(";").append(NEWLINE).append(NEWLINE);
+
+		// Imports are only complete once every block was added, so they are written in front of the streamed body
+		imports.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(org -> {
+			org.getValue().stream().sorted().forEach(
+					importResource -> code.append("import ").append(importResource).append(";").append(NEWLINE));
+			code.append(NEWLINE);
+		});
+
+		code.append(codeBlock);
+
+		if (!origins.isEmpty()) {
+			// Body lines are counted from the end of the class declaration
+			int headerLineCount = 0;
+
+			for (int index = code.indexOf("\n"); index >= 0; index = code.indexOf("\n", index + 1)) {
+				headerLineCount++;
 			}
 
-			writer.write(codeBlock.toString());
+			final NavigableMap<Integer, String> lineOrigins = new TreeMap<>();
+
+			for (final Map.Entry<Integer, String> origin : origins.entrySet()) {
+				lineOrigins.put(origin.getKey() < 0 ? 1 : headerLineCount + origin.getKey() + 1, origin.getValue());
+			}
+
+			codeGenConfig.getManifest().setOrigins(codeFilePath, lineOrigins);
+		}
+
+		try {
+			if (spillWriter == null) {
+				code.append(codeBlocks).append("}").append(NEWLINE);
+				codeGenConfig.getManifest().writeArtifact(codeFilePath, code.toString(),
+						codeGenConfig.getExternalConfig().overwriteFiles());
+			} else {
+				spillWriter.close();
+
+				// Not a temporary file, those are only readable by the owner once they are moved into the project
+				final Path contentFile = spillFile.resolveSibling(UUID.randomUUID() + "-" + codeFilePath.getFileName());
+
+				try (final OutputStream output = Files.newOutputStream(contentFile)) {
+					output.write(code.toString().getBytes(StandardCharsets.UTF_8));
+					Files.copy(spillFile, output);
+					output.write(("}" + NEWLINE).getBytes(StandardCharsets.UTF_8));
+				} finally {
+					Files.delete(spillFile);
+				}
 
-			writer.flush();
-			writer.close();
-		} catch (IOException e1) {
-			e1.printStackTrace();
+				codeGenConfig.getManifest().writeArtifact(codeFilePath, contentFile,
+						codeGenConfig.getExternalConfig().overwriteFiles());
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
 		}
 	}
 
-	public void addMembers(final List<TypeDeclaration> members, final String transportPackageName) {
-		final Comparator<TypeDeclaration> byName = (e1, e2) -> e1.name().compareTo(e2.name());
-		final StringBuffer fields = new StringBuffer();
+	public void addMembers(final List<TypeDefinition> members, final String transportPackageName) {
+		final Comparator<TypeDefinition> byName = (e1, e2) -> e1.getName().compareTo(e2.getName());
+		final StringBuilder fields = new StringBuilder();
 
 		members.stream().sorted(byName).forEach(member -> {
 			fields.append(INDENT1).append("private ")
@@ -187,11 +274,11 @@ public class CodeGenerator {
 					.append(GeneratorUtil.getMemberName(member)).append(";").append(NEWLINE);
 		});
 
-		codeBlocks.add(fields.toString());
+		addCodeBlock(fields.toString());
 	}
 
 	public void addMembers(final List<ColumnDefinition> columns, final Table table) throws Exception {
-		final StringBuffer fields = new StringBuffer();
+		final StringBuilder fields = new StringBuilder();
 
 		if (columns != null) {
 			addImport("javax.persistence.Column");
@@ -222,9 +309,17 @@ public class CodeGenerator {
 					}
 				}
 
+				if (GeneratorUtil.isVersionColumn(table, column)) {
+					fields.append(NEWLINE).append(INDENT1).append("@Version");
+					addImport("javax.persistence.Version");
+				}
+
+				// An ETag column that is not a version is maintained by the database, so JPA never writes it
 				if (column.getDataType() != JDBCType.JAVA_OBJECT) {
 					fields.append(NEWLINE).append(INDENT1).append("@Column(name = \"").append(column.getColumnName())
-							.append("\")");
+							.append(column.getColumnName().equalsIgnoreCase(table.getEtagColumn())
+									&& !GeneratorUtil.isVersionColumn(table, column)
+											? "\", insertable = false, updatable = false)" : "\")");
 				}
 
 				fields.append(NEWLINE).append(INDENT1).append("private ").append(memberType).append(" ")
@@ -320,10 +415,32 @@ public class CodeGenerator {
 			});
 		}
 
-		codeBlocks.add(fields.toString());
+		addCodeBlock(fields.toString());
+	}
+
+	// The RAML element or config entry the class is generated from, reported with its compile errors
+	public void setOrigin(final String origin) {
+		origins.put(-1, origin);
+	}
+
+	// Code added from here on is generated from another element than the class as a whole
+	public void markOrigin(final String origin) {
+		origins.put(bodyLineCount, origin);
 	}
 
 	public void addCodeBlock(final String block) {
-		codeBlocks.add(block);
+		if (codeBlockCount++ > 0) {
+			appendCode(NEWLINE);
+		}
+
+		appendCode(block);
+	}
+
+	public void appendToCodeBlock(final String code) {
+		if (codeBlockCount == 0) {
+			codeBlockCount++;
+		}
+
+		appendCode(code);
 	}
 }
@@ -0,0 +1,85 @@
+package com.easyapp.raml2springbootplugin.generate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.CacheConfig;
+import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
+
+public class GenerateCacheConfig {
+	private final CodeGenConfig codeGenConfig;
+	private final CacheConfig cacheConfig;
+
+	private String getCache(final String cacheName, final long maximumSize, final long expireAfterWrite) {
+		return CodeGenerator.INDENT4 + "createCache(\"" + cacheName + "\", " + maximumSize + "L, " + expireAfterWrite
+				+ "L)";
+	}
+
+	public GenerateCacheConfig(final CodeGenConfig codeGenConfig) {
+		this.codeGenConfig = codeGenConfig;
+		this.cacheConfig = codeGenConfig.getExternalConfig().getCacheConfig();
+	}
+
+	public void create() {
+		final CodeGenerator generator = new CodeGenerator(codeGenConfig, "config",
+				Arrays.asList("@Configuration", "@EnableCaching"), false, "CacheConfiguration", null, null, false);
+		generator.setOrigin("cacheConfig");
+
+		generator.addImport("java.util.Arrays");
+		generator.addImport("java.util.concurrent.TimeUnit");
+		generator.addImport("org.springframework.cache.CacheManager");
+		generator.addImport("org.springframework.cache.annotation.EnableCaching");
+		generator.addImport("org.springframework.cache.caffeine.CaffeineCache");
+		generator.addImport("org.springframework.cache.support.SimpleCacheManager");
+		generator.addImport("org.springframework.context.annotation.Bean");
+		generator.addImport("org.springframework.context.annotation.Configuration");
+		generator.addImport("com.github.benmanes.caffeine.cache.Caffeine");
+
+		final StringBuilder createCache = new StringBuilder();
+
+		createCache.append(CodeGenerator.INDENT1)
+				.append("private static CaffeineCache createCache(final String name, final long maximumSize, ")
+				.append("final long expireAfterWrite) {").append(CodeGenerator.NEWLINE);
+		createCache.append(CodeGenerator.INDENT2)
+				.append("return new CaffeineCache(name, Caffeine.newBuilder().maximumSize(maximumSize)")
+				.append(CodeGenerator.NEWLINE);
+		createCache.append(CodeGenerator.INDENT4).append(".expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS)")
+				.append(codeGenConfig.getExternalConfig().generateHealthCheck() ? ".recordStats()" : "")
+				.append(".build());").append(CodeGenerator.NEWLINE);
+		createCache.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+
+		generator.addCodeBlock(createCache.toString());
+
+		final List<String> caches = new ArrayList<>();
+
+		cacheConfig.getCaches().forEach(cache -> {
+			final long maximumSize = cacheConfig.getMaximumSize(cache);
+			final long expireAfterWrite = cacheConfig.getExpireAfterWrite(cache);
+
+			caches.add(getCache(GeneratorUtil.getCacheName(cache), maximumSize, expireAfterWrite));
+
+			if (cache.getTableName() != null) {
+				caches.add(getCache(GeneratorUtil.getQueriesCacheName(cache), maximumSize, expireAfterWrite));
+			}
+		});
+
+		final StringBuilder cacheManager = new StringBuilder();
+
+		cacheManager.append(CodeGenerator.INDENT1).append("@Bean").append(CodeGenerator.NEWLINE);
+		cacheManager.append(CodeGenerator.INDENT1).append("public CacheManager cacheManager() {")
+				.append(CodeGenerator.NEWLINE);
+		cacheManager.append(CodeGenerator.INDENT2)
+				.append("final SimpleCacheManager cacheManager = new SimpleCacheManager();")
+				.append(CodeGenerator.NEWLINE).append(CodeGenerator.NEWLINE);
+		cacheManager.append(CodeGenerator.INDENT2).append("cacheManager.setCaches(Arrays.asList(")
+				.append(CodeGenerator.NEWLINE).append(String.join("," + CodeGenerator.NEWLINE, caches)).append("));")
+				.append(CodeGenerator.NEWLINE).append(CodeGenerator.NEWLINE);
+		cacheManager.append(CodeGenerator.INDENT2).append("return cacheManager;").append(CodeGenerator.NEWLINE);
+		cacheManager.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+
+		generator.addCodeBlock(cacheManager.toString());
+		generator.writeCode();
+	}
+}
@@ -1,22 +1,13 @@
 package com.easyapp.raml2springbootplugin.generate;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
+import java.util.Collections;
 
-import org.apache.maven.model.Model;
 import org.apache.maven.model.Plugin;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
-import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
 
 public class GenerateDocker {
 	private final CodeGenConfig codeGenConfig;
@@ -33,36 +24,14 @@ public class GenerateDocker {
 	}
 
 	public void create() throws Exception {
-		final Path dockerDirectoryPath = Paths.get(codeGenConfig.getProjectDirectory() + "/docker");
-		String dockerFile = dockerDirectoryPath.toString() + "/Dockerfile";
+		final StringBuilder dockerFile = CodeGenerator.getOutputBuffer();
+		GeneratorUtil.getTemplate("Dockerfile", "DOCKER_BASE_IMAGE_NAME").render(dockerFile,
+				Collections.singletonMap("DOCKER_BASE_IMAGE_NAME",
+						codeGenConfig.getExternalConfig().getDockerConfig().getDockerBaseImageName()));
 
-		if (!Files.exists(dockerDirectoryPath)) {
-			Files.createDirectory(dockerDirectoryPath);
-		} else if (Files.exists(Paths.get(dockerFile)) && !codeGenConfig.getExternalConfig().overwriteFiles()) {
-			dockerFile += ".MERGE";
-		}
-
-		final FileWriter dockerFileWriter = new FileWriter(dockerFile);
-		final BufferedReader dockerFileReader = new BufferedReader(
-				new InputStreamReader(new URL("platform:/plugin/RAML2SpringBootPlugin/Dockerfile").openStream()));
-		String line = null;
-
-		while ((line = dockerFileReader.readLine()) != null) {
-			dockerFileWriter.write(line.replaceAll("DOCKER_BASE_IMAGE_NAME",
-					codeGenConfig.getExternalConfig().getDockerConfig().getDockerBaseImageName())
-					+ CodeGenerator.NEWLINE);
-		}
-
-		dockerFileWriter.flush();
-		dockerFileWriter.close();
-		dockerFileReader.close();
-
-		final MavenXpp3Reader mavenReader = new MavenXpp3Reader();
-		final Model pomModel = mavenReader.read(new FileReader(codeGenConfig.getPomFilePath()));
-		final List<Plugin> plugins = pomModel.getBuild().getPlugins();
-
-		// Force regeneration
-		plugins.removeIf(plugin -> plugin.getKey().equals(Plugin.constructKey("com.spotify", "docker-maven-plugin")));
+		codeGenConfig.getManifest().writeArtifact(
+				Paths.get(codeGenConfig.getProjectDirectory(), "docker", "Dockerfile"), dockerFile.toString(),
+				codeGenConfig.getExternalConfig().overwriteFiles());
 
 		final Plugin dockerPlugin = new Plugin();
 		dockerPlugin.setGroupId("com.spotify");
@@ -95,18 +64,8 @@ public class GenerateDocker {
 
 		dockerPlugin.setConfiguration(dockerConfig);
 
-		plugins.add(dockerPlugin);
-
-		if (!pomModel.getProperties().containsKey("user.id")) {
-			pomModel.addProperty("user.id", "api");
-		}
-
-		final MavenXpp3Writer writer = new MavenXpp3Writer();
-
-		if (codeGenConfig.getExternalConfig().overwriteFiles()) {
-			writer.write(new FileWriter(codeGenConfig.getPomFilePath()), pomModel);
-		} else {
-			writer.write(new FileWriter(codeGenConfig.getPomFilePath() + ".MERGE"), pomModel);
-		}
+		// Force regeneration
+		codeGenConfig.getPomSession().setPlugin(dockerPlugin);
+		codeGenConfig.getPomSession().addProperty("user.id", "api");
 	}
 }
@@ -1,42 +1,25 @@
 package com.easyapp.raml2springbootplugin.generate;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import org.raml.v2.api.model.v10.api.Api;
-import org.raml.v2.api.model.v10.resources.Resource;
-
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.util.ApiModel;
 import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
 
 public class GenerateExceptions {
-	private final Api api;
+	private final ApiModel api;
 	private final CodeGenConfig codeGenConfig;
-	private final Set<String> responseCodes = new HashSet<>();
-
-	private void getResourceErrorResponses(final Resource resource) {
-		resource.methods().stream().forEach(method -> {
-			responseCodes.addAll(method.responses().stream().map(response -> response.code().value())
-					.filter(responseCode -> !responseCode.startsWith("2")).collect(Collectors.toSet()));
-		});
 
-		resource.resources().stream().forEach(subResource -> getResourceErrorResponses(subResource));
-	}
-
-	public GenerateExceptions(final Api api, final CodeGenConfig codeGenConfig) {
+	public GenerateExceptions(final ApiModel api, final CodeGenConfig codeGenConfig) {
 		this.api = api;
 		this.codeGenConfig = codeGenConfig;
 	}
 
 	public void create() {
-		api.resources().stream().forEach(resource -> getResourceErrorResponses(resource));
-
-		responseCodes.stream().forEach(responseCode -> {
+		api.getErrorResponseCodes().parallelStream().forEach(responseCode -> {
 			String exceptionClassName = GeneratorUtil.getExceptionClassName(responseCode);
 			CodeGenerator generator = new CodeGenerator(codeGenConfig, "exception", null, false, exceptionClassName, "Exception", null, false);
+			generator.setOrigin("RAML response code " + responseCode);
 
-			final StringBuffer block = new StringBuffer();
+			final StringBuilder block = new StringBuilder();
 			block.append(CodeGenerator.INDENT1).append("private static final long serialVersionUID = 1L;")
 					.append(CodeGenerator.NEWLINE).append(CodeGenerator.NEWLINE);
 
@@ -0,0 +1,56 @@
+package com.easyapp.raml2springbootplugin.generate;
+
+import java.util.Arrays;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+
+public class GenerateHttpCacheConfig {
+	private final CodeGenConfig codeGenConfig;
+
+	public GenerateHttpCacheConfig(final CodeGenConfig codeGenConfig) {
+		this.codeGenConfig = codeGenConfig;
+	}
+
+	public void create() {
+		final CodeGenerator generator = new CodeGenerator(codeGenConfig, "config", Arrays.asList("@Configuration"),
+				false, "HttpCacheConfiguration", null, null, false);
+		generator.setOrigin("httpCacheConfig");
+
+		generator.addImport("java.io.InputStream");
+		generator.addImport("javax.servlet.http.HttpServletRequest");
+		generator.addImport("javax.servlet.http.HttpServletResponse");
+		generator.addImport("org.springframework.context.annotation.Bean");
+		generator.addImport("org.springframework.context.annotation.Configuration");
+		generator.addImport("org.springframework.http.HttpHeaders");
+		generator.addImport("org.springframework.web.filter.ShallowEtagHeaderFilter");
+
+		final StringBuilder etagFilter = new StringBuilder();
+
+		etagFilter.append(CodeGenerator.INDENT1).append("@Bean").append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT1).append("public ShallowEtagHeaderFilter etagFilter() {")
+				.append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT2).append("return new ShallowEtagHeaderFilter() {")
+				.append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT3).append("@Override").append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT3)
+				.append("protected boolean isEligibleForEtag(final HttpServletRequest request, ")
+				.append("final HttpServletResponse response,").append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT4).append(CodeGenerator.INDENT1)
+				.append("final int responseStatusCode, final InputStream inputStream) {")
+				.append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT4)
+				.append("// Keep the ETags the controllers derive from the entity instead of hashing the body")
+				.append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT4).append("return !response.containsHeader(HttpHeaders.ETAG)")
+				.append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT4).append(CodeGenerator.INDENT2)
+				.append("&& super.isEligibleForEtag(request, response, responseStatusCode, inputStream);")
+				.append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT3).append("}").append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT2).append("};").append(CodeGenerator.NEWLINE);
+		etagFilter.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+
+		generator.addCodeBlock(etagFilter.toString());
+		generator.writeCode();
+	}
+}
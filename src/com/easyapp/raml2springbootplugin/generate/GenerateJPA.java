@@ -1,31 +1,55 @@
 package com.easyapp.raml2springbootplugin.generate;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
-
-import org.raml.v2.api.model.v10.api.Api;
-import org.raml.v2.api.model.v10.resources.Resource;
+import java.util.stream.IntStream;
 
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig;
 import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig.Table;
+import com.easyapp.raml2springbootplugin.generate.util.ApiModel;
+import com.easyapp.raml2springbootplugin.generate.util.BuildCache;
 import com.easyapp.raml2springbootplugin.generate.util.ColumnDefinition;
 import com.easyapp.raml2springbootplugin.generate.util.DatabaseUtil;
+import com.easyapp.raml2springbootplugin.generate.util.GenerationManifest;
+import com.easyapp.raml2springbootplugin.generate.util.GenerationMetrics;
 import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
+import com.easyapp.raml2springbootplugin.generate.util.RamlModelCache;
+import com.easyapp.raml2springbootplugin.generate.util.SchemaFingerprints;
+import com.easyapp.raml2springbootplugin.generate.util.SchemaSnapshot;
 import com.easyapp.raml2springbootplugin.generate.util.TableDefinition;
 import com.easyapp.raml2springbootplugin.generate.util.TransportDefinition;
+import com.easyapp.raml2springbootplugin.generate.util.TypeDefinition;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import edu.emory.mathcs.backport.java.util.concurrent.atomic.AtomicInteger;
 
 public class GenerateJPA {
-	private final List<TransportDefinition> transportTypes = new ArrayList<>();
+	private static final ObjectMapper configMapper = new ObjectMapper()
+			.setVisibility(PropertyAccessor.ALL, Visibility.NONE).setVisibility(PropertyAccessor.FIELD, Visibility.ANY)
+			.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+	private final Map<String, TransportDefinition> transportTypes;
+	private final Set<String> slicedTables;
 	private final CodeGenConfig codeGenConfig;
 
 	private void generateEmbeddable(final List<ColumnDefinition> columns, final Table table) throws Exception {
 		final String className = GeneratorUtil.getTitleCase(table.getTableName(), "_") + "Id";
 		final CodeGenerator generator = new CodeGenerator(codeGenConfig, "entity", Arrays.asList("@Embeddable"), false,
 				className, null, Arrays.asList("Serializable"), false);
+		generator.setOrigin("jpaConfig table " + table.getTableName());
 
 		generator.addImport("javax.persistence.Embeddable");
 		generator.addImport("java.io.Serializable");
@@ -33,7 +57,7 @@ public class GenerateJPA {
 		generator.addCodeBlock(CodeGenerator.INDENT1 + "private static final long serialVersionUID = 1L;");
 		generator.addMembers(columns, new Table(table.getTableName()));
 
-		final StringBuffer constructors = new StringBuffer();
+		final StringBuilder constructors = new StringBuilder();
 		constructors.append(CodeGenerator.INDENT1).append("public ").append(className).append("() {")
 				.append(CodeGenerator.NEWLINE);
 		constructors.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE)
@@ -78,7 +102,7 @@ public class GenerateJPA {
 
 		generator.addCodeBlock(constructors.toString());
 
-		final StringBuffer overrides = new StringBuffer();
+		final StringBuilder overrides = new StringBuilder();
 		overrides.append(CodeGenerator.INDENT1).append("@Override").append(CodeGenerator.NEWLINE);
 		overrides.append(CodeGenerator.INDENT1).append("public int hashCode() {").append(CodeGenerator.NEWLINE);
 		overrides.append(CodeGenerator.INDENT2).append("return toString().hashCode();").append(CodeGenerator.NEWLINE);
@@ -114,6 +138,7 @@ public class GenerateJPA {
 		final CodeGenerator generator = new CodeGenerator(codeGenConfig, "entity",
 				Arrays.asList("@Entity", "@Table(name = \"" + table.getTableName().toUpperCase() + "\")", "@Data"), false,
 				GeneratorUtil.getTitleCase(table.getTableName(), "_"), null, Arrays.asList("Serializable"), false);
+		generator.setOrigin("jpaConfig table " + table.getTableName());
 
 		generator.addImport("javax.persistence.Entity");
 		generator.addImport("javax.persistence.Table");
@@ -125,14 +150,254 @@ public class GenerateJPA {
 		generator.writeCode();
 	}
 
-	private void generateRepository(final String entityClassName, final String entityKeyClassName) throws Exception {
+	private String getKeysetCondition(final List<String> attributes, final List<String> parameters,
+			final String operator, final int index) {
+		final String condition = "e." + attributes.get(index) + " " + operator + " :" + parameters.get(index);
+
+		if (index == attributes.size() - 1) {
+			return condition;
+		} else {
+			return condition + " or e." + attributes.get(index) + " = :" + parameters.get(index) + " and ("
+					+ getKeysetCondition(attributes, parameters, operator, index + 1) + ")";
+		}
+	}
+
+	private String getCursorValue(final String javaDataType, final int index) {
+		if (javaDataType.equals("String")) {
+			return "position.get(" + index + ")";
+		} else if (javaDataType.endsWith("Date") || javaDataType.endsWith("Time")) {
+			return javaDataType + ".parse(position.get(" + index + "))";
+		} else {
+			return javaDataType + ".valueOf(position.get(" + index + "))";
+		}
+	}
+
+	// Pages are read after or before the sort column and primary key values in the cursor, so that deep pages cost
+	// the same as the first one and no count query is needed
+	private void generateKeysetMethods(final CodeGenerator generator, final Table table,
+			final TableDefinition tableDefinition, final String entityClassName) throws Exception {
+		final List<ColumnDefinition> keysetColumns = new ArrayList<>();
+
+		if (table.getSortColumn() != null) {
+			final ColumnDefinition sortColumn = tableDefinition.getColumn(table.getSortColumn());
+
+			if (sortColumn == null) {
+				throw new Exception("Sort Column " + table.getSortColumn() + " is not a column of table "
+						+ table.getTableName() + " in JPA Config");
+			} else if (sortColumn.isNullable()) {
+				throw new Exception("Sort Column " + table.getSortColumn() + " of table " + table.getTableName()
+						+ " should not be nullable for keyset pagination");
+			}
+
+			keysetColumns.add(sortColumn);
+		}
+
+		tableDefinition.getKeyColumns().stream().filter(keyColumn -> keysetColumns.stream()
+				.noneMatch(column -> column.getColumnName().equalsIgnoreCase(keyColumn.getColumnName())))
+				.forEach(keysetColumns::add);
+
+		final List<String> parameters = keysetColumns.stream()
+				.map(column -> GeneratorUtil.getCamelCase(column.getColumnName(), "_")).collect(Collectors.toList());
+		final List<String> attributes = keysetColumns.stream()
+				.map(column -> (tableDefinition.hasCompositeKey() && tableDefinition.getColumn(column.getColumnName())
+						.isInPrimaryKey() ? "id." : "") + GeneratorUtil.getCamelCase(column.getColumnName(), "_"))
+				.collect(Collectors.toList());
+		final List<String> javaDataTypes = keysetColumns.stream()
+				.map(column -> generator.getJavaDataType(column.getDataType(), table.getTableName()))
+				.collect(Collectors.toList());
+		final String orderBy = attributes.stream().map(attribute -> "e." + attribute).collect(Collectors.joining(", "));
+		final String orderByDescending = attributes.stream().map(attribute -> "e." + attribute + " desc")
+				.collect(Collectors.joining(", "));
+		final String methodParameters = IntStream.range(0, parameters.size())
+				.mapToObj(index -> "@Param(\"" + parameters.get(index) + "\") " + javaDataTypes.get(index) + " "
+						+ parameters.get(index))
+				.collect(Collectors.joining(", "));
+		final String cursorValues = IntStream.range(0, parameters.size())
+				.mapToObj(index -> getCursorValue(javaDataTypes.get(index), index)).collect(Collectors.joining(", "));
+		final String select = "select e from " + entityClassName + " e";
+
+		final StringBuilder methods = new StringBuilder();
+
+		methods.append(CodeGenerator.INDENT1).append("@Query(\"").append(select).append(" order by ").append(orderBy)
+				.append("\")").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT1).append("List<").append(entityClassName)
+				.append("> findKeysetFirst(Pageable pageable);").append(CodeGenerator.NEWLINE)
+				.append(CodeGenerator.NEWLINE);
+
+		methods.append(CodeGenerator.INDENT1).append("@Query(\"").append(select).append(" where ")
+				.append(getKeysetCondition(attributes, parameters, ">", 0)).append(" order by ").append(orderBy)
+				.append("\")").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT1).append("List<").append(entityClassName).append("> findKeysetAfter(")
+				.append(methodParameters).append(", Pageable pageable);").append(CodeGenerator.NEWLINE)
+				.append(CodeGenerator.NEWLINE);
+
+		methods.append(CodeGenerator.INDENT1).append("@Query(\"").append(select).append(" where ")
+				.append(getKeysetCondition(attributes, parameters, "<", 0)).append(" order by ")
+				.append(orderByDescending).append("\")").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT1).append("List<").append(entityClassName).append("> findKeysetBefore(")
+				.append(methodParameters).append(", Pageable pageable);").append(CodeGenerator.NEWLINE)
+				.append(CodeGenerator.NEWLINE);
+
+		methods.append(CodeGenerator.INDENT1).append("default KeysetPage<").append(entityClassName)
+				.append("> findKeysetPage(final String cursor, final Long size) {").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT2).append("final Cursor position = Cursor.parse(cursor, ")
+				.append(parameters.size()).append(");").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT2)
+				.append("final Pageable pageable = new PageRequest(0, KeysetPage.getLimit(size));")
+				.append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT2).append("final Function<").append(entityClassName)
+				.append(", Object[]> keyset = entity -> new Object[] { ")
+				.append(attributes.stream()
+						.map(attribute -> "entity." + Arrays.stream(attribute.split("\\."))
+								.map(field -> "get" + GeneratorUtil.getTitleCaseFromCamelCase(field) + "()")
+								.collect(Collectors.joining(".")))
+						.collect(Collectors.joining(", ")))
+				.append(" };").append(CodeGenerator.NEWLINE).append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT2).append("if (position == null) {").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT3)
+				.append("return KeysetPage.of(findKeysetFirst(pageable), size, position, keyset);")
+				.append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT2).append("} else if (position.isNext()) {").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT3).append("return KeysetPage.of(findKeysetAfter(").append(cursorValues)
+				.append(", pageable), size, position, keyset);").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT2).append("} else {").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT3).append("return KeysetPage.of(findKeysetBefore(").append(cursorValues)
+				.append(", pageable), size, position, keyset);").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT2).append("}").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+
+		generator.addImport("java.util.List");
+		generator.addImport("java.util.function.Function");
+		generator.addImport("org.springframework.data.domain.PageRequest");
+		generator.addImport("org.springframework.data.domain.Pageable");
+		generator.addImport("org.springframework.data.jpa.repository.Query");
+		generator.addImport("org.springframework.data.repository.query.Param");
+		generator.addImport(codeGenConfig.getBasePackage() + ".pagination.Cursor");
+		generator.addImport(codeGenConfig.getBasePackage() + ".pagination.KeysetPage");
+		generator.addCodeBlock(methods.toString());
+	}
+
+	// Rows are fetched from the cursor in batches of the fetch size instead of being read into a list up front
+	private void generateStreamMethod(final CodeGenerator generator, final String entityClassName) {
+		final StringBuilder method = new StringBuilder();
+
+		method.append(CodeGenerator.INDENT1).append("@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = \"")
+				.append(codeGenConfig.getExternalConfig().getStreamingConfig().getFetchSize()).append("\"))")
+				.append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT1).append("@Query(\"select e from ").append(entityClassName)
+				.append(" e\")").append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT1).append("Stream<").append(entityClassName).append("> streamAll();")
+				.append(CodeGenerator.NEWLINE);
+
+		generator.addImport("static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE");
+		generator.addImport("java.util.stream.Stream");
+		generator.addImport("javax.persistence.QueryHint");
+		generator.addImport("org.springframework.data.jpa.repository.Query");
+		generator.addImport("org.springframework.data.jpa.repository.QueryHints");
+		generator.addCodeBlock(method.toString());
+	}
+
+	// Conditional requests compare the ETag column only, the entity is not read unless the ETag has changed
+	private void generateEtagMethod(final CodeGenerator generator, final Table table,
+			final TableDefinition tableDefinition, final String entityClassName, final String entityKeyClassName)
+			throws Exception {
+		final ColumnDefinition etagColumn = tableDefinition.getColumn(table.getEtagColumn());
+
+		if (etagColumn == null) {
+			throw new Exception("ETag Column " + table.getEtagColumn() + " is not a column of table "
+					+ table.getTableName() + " in JPA Config");
+		}
+
+		final String keyAttribute = tableDefinition.hasCompositeKey() ? "id"
+				: GeneratorUtil.getCamelCase(tableDefinition.getKeyColumns().get(0).getColumnName(), "_");
+		final StringBuilder method = new StringBuilder();
+
+		method.append(CodeGenerator.INDENT1).append("@Query(\"select e.")
+				.append(GeneratorUtil.getCamelCase(etagColumn.getColumnName(), "_")).append(" from ")
+				.append(entityClassName).append(" e where e.").append(keyAttribute).append(" = :id\")")
+				.append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT1)
+				.append(generator.getJavaDataType(etagColumn.getDataType(), table.getTableName()))
+				.append(" findETag(@Param(\"id\") ").append(entityKeyClassName).append(" id);")
+				.append(CodeGenerator.NEWLINE);
+
+		// An entity mapped from a transport has no version, it is given the stored row's so that saving it updates
+		// the row instead of inserting it again
+		final String entityVariable = GeneratorUtil.getCamelCase(table.getTableName(), "_");
+		final String etagAttribute = GeneratorUtil
+				.getTitleCaseFromCamelCase(GeneratorUtil.getCamelCase(etagColumn.getColumnName(), "_"));
+		final String keyGetter = "get" + GeneratorUtil.getTitleCaseFromCamelCase(keyAttribute) + "()";
+
+		method.append(CodeGenerator.NEWLINE).append(CodeGenerator.INDENT1).append("default ").append(entityClassName)
+				.append(" withCurrentVersion(final ").append(entityClassName).append(" ").append(entityVariable)
+				.append(") {").append(CodeGenerator.NEWLINE);
+
+		if (GeneratorUtil.isVersionColumn(table, etagColumn)) {
+			method.append(CodeGenerator.INDENT2).append("if (").append(entityVariable).append(".get")
+					.append(etagAttribute).append("() == null && ").append(entityVariable).append(".")
+					.append(keyGetter).append(" != null) {").append(CodeGenerator.NEWLINE);
+			method.append(CodeGenerator.INDENT3).append(entityVariable).append(".set").append(etagAttribute)
+					.append("(findETag(").append(entityVariable).append(".").append(keyGetter).append("));")
+					.append(CodeGenerator.NEWLINE);
+			method.append(CodeGenerator.INDENT2).append("}").append(CodeGenerator.NEWLINE)
+					.append(CodeGenerator.NEWLINE);
+		}
+
+		method.append(CodeGenerator.INDENT2).append("return ").append(entityVariable).append(";")
+				.append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+
+		generator.addImport("org.springframework.data.jpa.repository.Query");
+		generator.addImport("org.springframework.data.repository.query.Param");
+		generator.addCodeBlock(method.toString());
+	}
+
+	private boolean isPostgres() {
+		final String jdbcUrl = codeGenConfig.getApplicationProperty("spring.datasource.url");
+
+		return jdbcUrl != null && jdbcUrl.startsWith("jdbc:postgresql:");
+	}
+
+	// Slices read one row more than their size to know if there is a next one, so no count query is run for them
+	private void generateSliceMethods(final CodeGenerator generator, final Table table,
+			final String entityClassName) {
+		final StringBuilder methods = new StringBuilder();
+
+		methods.append(CodeGenerator.INDENT1).append("@Query(\"select e from ").append(entityClassName)
+				.append(" e\")").append(CodeGenerator.NEWLINE);
+		methods.append(CodeGenerator.INDENT1).append("Slice<").append(entityClassName)
+				.append("> findSlice(Pageable pageable);").append(CodeGenerator.NEWLINE);
+
+		if (table.estimatedCount()) {
+			// Postgres keeps an estimate of the row count from its last analyze of the table
+			if (isPostgres()) {
+				methods.append(CodeGenerator.NEWLINE).append(CodeGenerator.INDENT1)
+						.append("@Query(value = \"select greatest(cast(reltuples as bigint), 0) from pg_class ")
+						.append("where oid = cast('").append(table.getTableName())
+						.append("' as regclass)\", nativeQuery = true)").append(CodeGenerator.NEWLINE);
+			} else {
+				methods.append(CodeGenerator.NEWLINE).append(CodeGenerator.INDENT1)
+						.append("@Query(\"select count(e) from ").append(entityClassName).append(" e\")")
+						.append(CodeGenerator.NEWLINE);
+			}
+
+			methods.append(CodeGenerator.INDENT1).append("Long estimateCount();").append(CodeGenerator.NEWLINE);
+		}
+
+		generator.addImport("org.springframework.data.domain.Pageable");
+		generator.addImport("org.springframework.data.domain.Slice");
+		generator.addImport("org.springframework.data.jpa.repository.Query");
+		generator.addCodeBlock(methods.toString());
+	}
+
+	private void generateRepository(final Table table, final TableDefinition tableDefinition,
+			final String entityClassName, final String entityKeyClassName) throws Exception {
 		final CodeGenerator generator = new CodeGenerator(codeGenConfig, "repository", Arrays.asList("@Repository"),
 				true, entityClassName + "Repository",
 				"JpaRepository<" + entityClassName + ", " + entityKeyClassName + ">", null, false);
+		generator.setOrigin("jpaConfig table " + table.getTableName());
 		generator.addImport("org.springframework.stereotype.Repository");
 		generator.addImport("org.springframework.data.jpa.repository.JpaRepository");
-		GeneratorUtil.addMavenDependency(codeGenConfig, "org.springframework.boot", "spring-boot-starter-data-jpa",
-				null, null);
 
 		if (entityKeyClassName.endsWith("Date") || entityKeyClassName.endsWith("Time")) {
 			generator.addImport("java.time." + entityKeyClassName);
@@ -144,15 +409,30 @@ public class GenerateJPA {
 			generator.addImport(codeGenConfig.getBasePackage() + ".entity." + entityKeyClassName);
 		}
 
+		if (codeGenConfig.getExternalConfig().keysetPagination() && !tableDefinition.getKeyColumns().isEmpty()) {
+			generateKeysetMethods(generator, table, tableDefinition, entityClassName);
+		}
+
+		if (table.getEtagColumn() != null && !tableDefinition.getKeyColumns().isEmpty()) {
+			generateEtagMethod(generator, table, tableDefinition, entityClassName, entityKeyClassName);
+		}
+
+		if (codeGenConfig.getExternalConfig().hasStreamingConfig()) {
+			generateStreamMethod(generator, entityClassName);
+		}
+
+		if (slicedTables.contains(table.getTableName())) {
+			generateSliceMethods(generator, table, entityClassName);
+		}
+
 		generator.writeCode();
 	}
 
 	private String getTransformedTransport(final TableDefinition tableDefinition,
 			final TransportDefinition transportType, final String entityObjectName, final String columnName,
 			final String fieldName) {
-		final String fieldDataType = transportType.getObjectType().properties().stream()
-				.filter(property -> property.name().equals(fieldName))
-				.map(property -> GeneratorUtil.getJavaPrimitiveType(property.type())).findFirst().orElse(null);
+		final TypeDefinition property = transportType.getProperty(fieldName);
+		final String fieldDataType = property == null ? null : GeneratorUtil.getJavaPrimitiveType(property.getType());
 
 		if (fieldDataType == null) {
 			throw new RuntimeException(
@@ -160,13 +440,10 @@ public class GenerateJPA {
 							+ tableDefinition.getTableName() + " in JPA Config");
 		}
 
-		final String columnDataType = tableDefinition.getColumns().stream()
-				.filter(column -> column.getColumnName().equalsIgnoreCase(columnName))
-				.map(column -> GeneratorUtil.getJavaDataType(column.getDataType())).findFirst().orElse(null);
+		final ColumnDefinition column = tableDefinition.getColumn(columnName);
+		final String columnDataType = column == null ? null : GeneratorUtil.getJavaDataType(column.getDataType());
 
-		final boolean isFieldObjectType = transportType.getObjectType().properties().stream()
-				.filter(property -> property.name().equals(fieldName))
-				.map(property -> !GeneratorUtil.isScalarRAMLType(property.type())).findFirst().orElse(true);
+		final boolean isFieldObjectType = !GeneratorUtil.isScalarRAMLType(property.getType());
 
 		final List<String> fields = Arrays.asList(columnName.split("\\."));
 
@@ -193,13 +470,11 @@ public class GenerateJPA {
 
 	private String getTransformedEntity(final TableDefinition tableDefinition, final TransportDefinition transportType,
 			final String transportObjectName, final String columnName, final String fieldName) {
-		final String fieldDataType = transportType.getObjectType().properties().stream()
-				.filter(property -> property.name().equals(fieldName))
-				.map(property -> GeneratorUtil.getJavaPrimitiveType(property.type())).findFirst().orElse(null);
+		final TypeDefinition property = transportType.getProperty(fieldName);
+		final String fieldDataType = property == null ? null : GeneratorUtil.getJavaPrimitiveType(property.getType());
 
-		final String columnDataType = tableDefinition.getColumns().stream()
-				.filter(column -> column.getColumnName().equalsIgnoreCase(columnName))
-				.map(column -> GeneratorUtil.getJavaDataType(column.getDataType())).findFirst().orElse(null);
+		final ColumnDefinition column = tableDefinition.getColumn(columnName);
+		final String columnDataType = column == null ? null : GeneratorUtil.getJavaDataType(column.getDataType());
 
 		if (fieldDataType == null || columnDataType == null) {
 			throw new RuntimeException("Field " + fieldName + " OR Column " + columnName
@@ -223,12 +498,11 @@ public class GenerateJPA {
 
 		final CodeGenerator generator = new CodeGenerator(codeGenConfig, "mapper", null, false,
 				entityClassName + "Mapper", null, null, false);
+		generator.setOrigin("jpaConfig table " + table.getTableName());
 		generator.addImport(codeGenConfig.getBasePackage() + ".entity." + entityClassName);
 
 		table.getEntityMappings().forEach(entityMapping -> {
-			final TransportDefinition transportType = transportTypes.stream()
-					.filter(transport -> transport.getClassName().equals(entityMapping.getRamlType() + "Transport"))
-					.findFirst().orElse(null);
+			final TransportDefinition transportType = transportTypes.get(entityMapping.getRamlType() + "Transport");
 
 			if (transportType == null) {
 				throw new RuntimeException("Invalid RAML Type " + entityMapping.getRamlType() + " for table "
@@ -238,8 +512,10 @@ public class GenerateJPA {
 			final String transportClassName = GeneratorUtil.getTitleCaseFromCamelCase(entityMapping.getRamlType())
 					+ "Transport";
 			final String transportObjectName = GeneratorUtil.getCamelCaseFromTitleCase(transportClassName);
-			final StringBuffer method = new StringBuffer();
+			final StringBuilder method = new StringBuilder();
 
+			generator.markOrigin("jpaConfig table " + table.getTableName() + " entity mapping "
+					+ entityMapping.getRamlType());
 			generator.addImport(codeGenConfig.getBasePackage() + ".transport." + transportClassName);
 
 			method.append(CodeGenerator.INDENT1).append("public static ").append(transportClassName).append(" get")
@@ -294,51 +570,124 @@ public class GenerateJPA {
 		generator.writeCode();
 	}
 
-	private void getRAMLTypes(final Resource resource) {
-		resource.methods().forEach(method -> {
-			method.responses().stream().filter(response -> response.code().value().startsWith("2"))
-					.forEach(response -> {
-						response.body().stream().filter(body -> !body.type().contains("-"))
-								.filter(body -> !GeneratorUtil.isScalarRAMLType(body.type()))
-								.forEach(body -> GeneratorUtil.addToMap(transportTypes, body, response.code().value()));
-					});
-		});
-
-		resource.resources().forEach(subResource -> getRAMLTypes(subResource));
-	}
-
-	public GenerateJPA(final Api api, final CodeGenConfig codeGenConfig) {
-		api.resources().forEach(resource -> getRAMLTypes(resource));
+	public GenerateJPA(final ApiModel api, final CodeGenConfig codeGenConfig) {
+		this.transportTypes = api.getResponseTransportTypes();
+		this.slicedTables = api.getEndpoints().stream()
+				.map(endpoint -> GenerateService.getSliceTable(codeGenConfig, endpoint)).filter(Objects::nonNull)
+				.map(Table::getTableName).collect(Collectors.toSet());
 		this.codeGenConfig = codeGenConfig;
 	}
 
-	public void create() throws Exception {
+	private Map<String, TableDefinition> getTableDefinitions(final JpaConfig jpaConfig) throws Exception {
+		final List<String> tableNames = jpaConfig.getTables().stream().map(Table::getTableName)
+				.collect(Collectors.toList());
+		final Path snapshotPath = jpaConfig.getSchemaSnapshot() == null ? null
+				: Paths.get(codeGenConfig.getProjectDirectory(), jpaConfig.getSchemaSnapshot());
+
+		if (snapshotPath != null && !jpaConfig.refreshSchemaSnapshot() && Files.exists(snapshotPath)) {
+			final Map<String, TableDefinition> tableDefinitions = codeGenConfig.getMetrics().time("schema-snapshot",
+					() -> SchemaSnapshot.read(snapshotPath).getTableDefinitions());
+
+			final String missingTables = tableNames.stream()
+					.filter(tableName -> !tableDefinitions.containsKey(tableName)).collect(Collectors.joining(", "));
+
+			if (!missingTables.isEmpty()) {
+				throw new Exception("Schema Snapshot " + jpaConfig.getSchemaSnapshot() + " is missing tables: "
+						+ missingTables + " (set refreshSchemaSnapshot to read them from the database)");
+			}
+
+			return tableDefinitions;
+		}
+
 		final String driverClassName = codeGenConfig.getApplicationProperty("spring.datasource.driver-class-name");
 		final String jdbcUrl = codeGenConfig.getApplicationProperty("spring.datasource.url");
 		final String userName = codeGenConfig.getApplicationProperty("spring.datasource.username");
 		final String password = codeGenConfig.getApplicationProperty("spring.datasource.password");
 
 		final DatabaseUtil databaseUtil = DatabaseUtil.getInstance(driverClassName, jdbcUrl, userName, password);
+		final Map<String, TableDefinition> tableDefinitions = codeGenConfig.getMetrics().time("db-introspection",
+				() -> databaseUtil.getTableDefinitions(tableNames, jpaConfig.getIntrospection(),
+						jpaConfig.getIntrospectionThreads()));
+
+		if (snapshotPath != null) {
+			codeGenConfig.getManifest().writeArtifact(snapshotPath,
+					new SchemaSnapshot(tableDefinitions).getContent(snapshotPath), true);
+		}
 
-		for (final Table table : codeGenConfig.getExternalConfig().getJpaConfig().getTables()) {
-			final TableDefinition tableDefinition = databaseUtil.getTableDefinition(table.getTableName());
-			final String entityClassName = GeneratorUtil.getTitleCase(table.getTableName(), "_");
-			String entityKeyClassName = GeneratorUtil.getTitleCase(table.getTableName(), "_") + "Id";
+		return tableDefinitions;
+	}
 
-			if (tableDefinition.hasCompositeKey()) {
-				generateEmbeddable(tableDefinition.getKeyColumns(), table);
-				generateEntity(tableDefinition.getNonKeyColumns(), table);
-			} else {
-				generateEntity(tableDefinition.getColumns(), table);
-				entityKeyClassName = GeneratorUtil
-						.getJavaDataType(tableDefinition.getKeyColumns().get(0).getDataType());
-			}
+	private String getFingerprint(final Table table, final TableDefinition tableDefinition, final String inputs)
+			throws Exception {
+		return GenerationManifest.hash((SchemaSnapshot.getTableContent(tableDefinition) + "\n"
+				+ configMapper.writeValueAsString(table) + "\n" + inputs).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private boolean isGenerated(final Table table) {
+		final String entityClassName = GeneratorUtil.getTitleCase(table.getTableName(), "_");
+		final boolean hasEntityMappings = table.getEntityMappings() != null && !table.getEntityMappings().isEmpty();
 
-			generateRepository(entityClassName, entityKeyClassName);
+		return Files.exists(CodeGenerator.getCodeFilePath(codeGenConfig, "entity", entityClassName, false))
+				&& Files.exists(CodeGenerator.getCodeFilePath(codeGenConfig, "repository",
+						entityClassName + "Repository", false))
+				&& (!hasEntityMappings || Files.exists(
+						CodeGenerator.getCodeFilePath(codeGenConfig, "mapper", entityClassName + "Mapper", false)));
+	}
 
-			if (table.getEntityMappings() != null && !table.getEntityMappings().isEmpty()) {
-				generateEntityMappings(table, tableDefinition);
+	public void create() throws Exception {
+		codeGenConfig.getPomSession().addDependency("org.springframework.boot", "spring-boot-starter-data-jpa", null,
+				null);
+
+		final JpaConfig jpaConfig = codeGenConfig.getExternalConfig().getJpaConfig();
+		final Map<String, TableDefinition> tableDefinitions = getTableDefinitions(jpaConfig);
+		final SchemaFingerprints fingerprints = new SchemaFingerprints(codeGenConfig.getProjectDirectory());
+		// Any change to the generator changes the fingerprints, so it never leaves files it would write differently
+		final String generatorVersion = BuildCache.getGeneratorVersion();
+		final String inputs = "generator:" + generatorVersion + "\n" + codeGenConfig.getBasePackage() + "\n"
+				+ codeGenConfig.getExternalConfig().overwriteFiles() + "\n"
+				+ codeGenConfig.getExternalConfig().keysetPagination() + "\n"
+				+ (codeGenConfig.getExternalConfig().hasStreamingConfig()
+						? codeGenConfig.getExternalConfig().getStreamingConfig().getFetchSize() : "") + "\n"
+				+ isPostgres() + "\n"
+				+ RamlModelCache.getCacheKey(Paths.get(codeGenConfig.getRamlFilePath()));
+
+		jpaConfig.getTables().parallelStream().forEach(table -> {
+			try {
+				final TableDefinition tableDefinition = tableDefinitions.get(table.getTableName());
+
+				// Tables whose metadata, config and RAML are the same as in the last run keep their generated files,
+				// unless the build cache needs to see every generated file or the generator is not known
+				if (generatorVersion != null
+						&& fingerprints.isUnchanged(table.getTableName(),
+								getFingerprint(table, tableDefinition, inputs))
+						&& !codeGenConfig.getManifest().isRecording() && isGenerated(table)) {
+					return;
+				}
+
+				final String entityClassName = GeneratorUtil.getTitleCase(table.getTableName(), "_");
+				String entityKeyClassName = GeneratorUtil.getTitleCase(table.getTableName(), "_") + "Id";
+
+				if (tableDefinition.hasCompositeKey()) {
+					generateEmbeddable(tableDefinition.getKeyColumns(), table);
+					generateEntity(tableDefinition.getNonKeyColumns(), table);
+				} else {
+					generateEntity(tableDefinition.getColumns(), table);
+					entityKeyClassName = GeneratorUtil
+							.getJavaDataType(tableDefinition.getKeyColumns().get(0).getDataType());
+				}
+
+				generateRepository(table, tableDefinition, entityClassName, entityKeyClassName);
+
+				if (table.getEntityMappings() != null && !table.getEntityMappings().isEmpty()) {
+					generateEntityMappings(table, tableDefinition);
+				}
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new RuntimeException(e);
 			}
-		}
+		});
+
+		fingerprints.save(codeGenConfig.getManifest());
 	}
 }
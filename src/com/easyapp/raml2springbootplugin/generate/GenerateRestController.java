@@ -7,61 +7,61 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import org.raml.v2.api.model.v10.api.Api;
-import org.raml.v2.api.model.v10.bodies.MimeType;
-import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
-import org.raml.v2.api.model.v10.methods.Method;
-import org.raml.v2.api.model.v10.resources.Resource;
-
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig.Table;
+import com.easyapp.raml2springbootplugin.generate.util.ApiModel;
+import com.easyapp.raml2springbootplugin.generate.util.EndpointDefinition;
 import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
+import com.easyapp.raml2springbootplugin.generate.util.TypeDefinition;
 
 public class GenerateRestController {
-	private final Api api;
+	private final ApiModel api;
 	private final CodeGenConfig codeGenConfig;
 	private final String apiTitle;
 	private final String apiTitleSvc;
 	private final CodeGenerator generator;
 	private final Map<String, String> exceptionMap = new HashMap<>();
+	private boolean keysetPagination = false;
 
-	private String getRequestMethod(final Method method) {
-		if ("get".equals(method.method())) {
+	private String getRequestMethod(final EndpointDefinition endpoint) {
+		if ("get".equals(endpoint.getMethod())) {
 			return "RequestMethod.GET";
-		} else if ("post".equals(method.method())) {
+		} else if ("post".equals(endpoint.getMethod())) {
 			return "RequestMethod.POST";
-		} else if ("put".equals(method.method())) {
+		} else if ("put".equals(endpoint.getMethod())) {
 			return "RequestMethod.PUT";
-		} else if ("delete".equals(method.method())) {
+		} else if ("delete".equals(endpoint.getMethod())) {
 			return "RequestMethod.DELETE";
-		} else if ("patch".equals(method.method())) {
+		} else if ("patch".equals(endpoint.getMethod())) {
 			return "RequestMethod.PATCH";
-		} else if ("head".equals(method.method())) {
+		} else if ("head".equals(endpoint.getMethod())) {
 			return "RequestMethod.HEAD";
-		} else if ("options".equals(method.method())) {
+		} else if ("options".equals(endpoint.getMethod())) {
 			return "RequestMethod.OPTIONS";
 		} else {
 			return "RequestMethod.TRACE";
 		}
 	}
 
-	private String getMediaType(final Method method, final List<MimeType> mimeTypes) {
-		String mediaType = mimeTypes.stream().map(mimeType -> "\"" + mimeType.value() + "\"")
+	private String getMediaType(final EndpointDefinition endpoint, final List<String> mimeTypes) {
+		String mediaType = mimeTypes.stream().map(mimeType -> "\"" + mimeType + "\"")
 				.collect(Collectors.joining(", "));
 
 		if (mimeTypes.size() > 1) {
 			mediaType = "{" + mediaType + "}";
 		}
 
-		if ("get".equals(method.method())) {
+		if ("get".equals(endpoint.getMethod())) {
 			return ", produces = " + mediaType;
-		} else if ("post".equals(method.method()) || "put".equals(method.method()) || "patch".equals(method.method())) {
+		} else if ("post".equals(endpoint.getMethod()) || "put".equals(endpoint.getMethod())
+				|| "patch".equals(endpoint.getMethod())) {
 			return ", produces = " + mediaType + ", consumes = " + mediaType;
 		} else {
 			return "";
 		}
 	}
 
-	private String getHeaderVariables(final List<TypeDeclaration> headers) {
+	private String getHeaderVariables(final List<TypeDefinition> headers) {
 		if (headers.isEmpty()) {
 			return "";
 		} else {
@@ -75,14 +75,14 @@ public class GenerateRestController {
 		}
 	}
 
-	private String getPathVariables(final List<TypeDeclaration> uriParameters) {
+	private String getPathVariables(final List<TypeDefinition> uriParameters) {
 		if (uriParameters.isEmpty()) {
 			return "";
 		} else {
 			generator.addImport("org.springframework.web.bind.annotation.PathVariable");
 			return uriParameters.stream()
 					.map(uriParam -> "@PathVariable(name = \"" + GeneratorUtil.getMemberName(uriParam)
-							+ "\", required = " + String.valueOf(uriParam.required()) + ") final "
+							+ "\", required = " + String.valueOf(uriParam.isRequired()) + ") final "
 							+ generator.getJavaType(GeneratorUtil.getMemberType(uriParam),
 									CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false)
 							+ " " + GeneratorUtil.getMemberName(uriParam))
@@ -90,11 +90,11 @@ public class GenerateRestController {
 		}
 	}
 
-	private String getRequestParameters(final Method method) {
-		if (method.queryParameters().isEmpty()) {
+	private String getRequestParameters(final EndpointDefinition endpoint) {
+		if (endpoint.getQueryParameters().isEmpty()) {
 			return "";
 		} else {
-			return method.queryParameters().stream().map(queryParam -> {
+			return endpoint.getQueryParameters().stream().map(queryParam -> {
 				final String queryParamType = generator.getJavaType(GeneratorUtil.getMemberType(queryParam),
 						CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false);
 
@@ -106,37 +106,31 @@ public class GenerateRestController {
 					final String queryParamName = GeneratorUtil.getMemberName(queryParam);
 
 					return "@RequestParam(name = \"" + queryParamName + "\", required = "
-							+ String.valueOf(queryParam.required())
-							+ (queryParam.defaultValue() != null && queryParam.defaultValue().trim().length() > 0
-									? ", defaultValue = \"" + queryParam.defaultValue() + "\"" : "")
+							+ String.valueOf(queryParam.isRequired())
+							+ (queryParam.getDefaultValue() != null && queryParam.getDefaultValue().trim().length() > 0
+									? ", defaultValue = \"" + queryParam.getDefaultValue() + "\"" : "")
 							+ ") final " + queryParamType + " " + queryParamName;
 				}
 			}).collect(Collectors.joining(", "));
 		}
 	}
 
-	private String getRequestBodyVariable(final Method method) {
-		if (("post").equals(method.method()) || ("put").equals(method.method()) || ("patch").equals(method.method())) {
+	private String getRequestBodyVariable(final EndpointDefinition endpoint) {
+		if (endpoint.hasRequestBody()) {
 			generator.addImport("org.springframework.web.bind.annotation.RequestBody");
-			if (method.body().isEmpty()) {
-				return "@RequestBody final String requestBody";
-			} else {
-				return "@RequestBody final "
-						+ generator.getJavaType(GeneratorUtil.getMemberType(method.body().get(0)),
-								CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false)
-						+ " " + GeneratorUtil.getRequestBodyVariableName(method);
-			}
+			return "@RequestBody final " + generator.getJavaType(endpoint.getRequestBodyType(),
+					CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false) + " " + endpoint.getRequestBodyVariableName();
 		}
 
 		return "";
 	}
 
-	private String getMethodParameters(final Method method) {
+	private String getMethodParameters(final EndpointDefinition endpoint) {
 		final List<String> variables = new ArrayList<>();
-		final String headerVariables = getHeaderVariables(GeneratorUtil.getHeaders(method));
-		final String pathVariables = getPathVariables(GeneratorUtil.getURIParameters(method.resource()));
-		final String requestBodyVariable = getRequestBodyVariable(method);
-		final String requestParams = getRequestParameters(method);
+		final String headerVariables = getHeaderVariables(endpoint.getHeaders());
+		final String pathVariables = getPathVariables(endpoint.getUriParameters());
+		final String requestBodyVariable = getRequestBodyVariable(endpoint);
+		final String requestParams = getRequestParameters(endpoint);
 
 		if (!("").equals(headerVariables)) {
 			variables.add(headerVariables);
@@ -157,14 +151,14 @@ public class GenerateRestController {
 		return variables.stream().collect(Collectors.joining(", "));
 	}
 
-	private String getMethodVariables(final Method method) {
+	private String getMethodVariables(final EndpointDefinition endpoint) {
 		final List<String> variables = new ArrayList<>();
 
-		final String headerVariables = GeneratorUtil.getHeaders(method).stream()
-				.map(GeneratorUtil::getMemberName).collect(Collectors.joining(", "));
+		final String headerVariables = endpoint.getHeaders().stream().map(GeneratorUtil::getMemberName)
+				.collect(Collectors.joining(", "));
 
-		final String pathVariables = GeneratorUtil.getURIParameters(method.resource()).stream()
-				.map(GeneratorUtil::getMemberName).collect(Collectors.joining(", "));
+		final String pathVariables = endpoint.getUriParameters().stream().map(GeneratorUtil::getMemberName)
+				.collect(Collectors.joining(", "));
 
 		if (!("").equals(headerVariables)) {
 			variables.add(headerVariables);
@@ -174,101 +168,202 @@ public class GenerateRestController {
 			variables.add(pathVariables);
 		}
 
-		if (("post").equals(method.method()) || ("put").equals(method.method()) || ("patch").equals(method.method())) {
-			variables.add(GeneratorUtil.getRequestBodyVariableName(method));
+		if (endpoint.hasRequestBody()) {
+			variables.add(endpoint.getRequestBodyVariableName());
 		}
 
-		if (!method.queryParameters().isEmpty()) {
-			variables.add(method.queryParameters().stream().map(GeneratorUtil::getMemberName)
+		if (!endpoint.getQueryParameters().isEmpty()) {
+			variables.add(endpoint.getQueryParameters().stream().map(GeneratorUtil::getMemberName)
 					.collect(Collectors.joining(", ")));
 		}
 
 		return variables.stream().collect(Collectors.joining(", "));
 	}
 
-	private void createResourceMethods(final Resource resource) {
-		resource.methods().stream().forEach(method -> {
-			final StringBuffer methods = new StringBuffer();
+	// The (cacheMaxAge) annotation on the method wins over the configured max-age of the resource
+	private Long getMaxAge(final EndpointDefinition endpoint) {
+		if (!"get".equals(endpoint.getMethod())) {
+			return null;
+		} else if (endpoint.getAnnotation("cacheMaxAge") != null) {
+			return Long.valueOf(endpoint.getAnnotation("cacheMaxAge"));
+		} else if (codeGenConfig.getExternalConfig().hasHttpCacheConfig()) {
+			return codeGenConfig.getExternalConfig().getHttpCacheConfig()
+					.getMaxAge(endpoint.getResource().getResourcePath());
+		} else {
+			return null;
+		}
+	}
+
+	private String getCacheControl(final Long maxAge) {
+		generator.addImport("java.util.concurrent.TimeUnit");
+		generator.addImport("org.springframework.http.CacheControl");
+		return ".cacheControl(CacheControl.maxAge(" + maxAge + ", TimeUnit.SECONDS))";
+	}
+
+	private void createEndpointMethod(final EndpointDefinition endpoint) {
+		final StringBuilder methods = new StringBuilder();
+		generator.markOrigin(endpoint.getOrigin());
+
+		methods.append(CodeGenerator.INDENT1).append("@RequestMapping(path = \"")
+				.append(endpoint.getResource().getResourcePath()).append("\", method = ")
+				.append(getRequestMethod(endpoint)).append(getMediaType(endpoint, api.getMediaTypes())).append(")")
+				.append(CodeGenerator.NEWLINE);
+
+		generator.addImport("org.springframework.web.bind.annotation.RequestMapping");
+		generator.addImport("org.springframework.web.bind.annotation.RequestMethod");
+
+		final String methodName = endpoint.getMethodName();
+		final boolean stream = GenerateService.getStreamTable(codeGenConfig, endpoint) != null;
+		final Table sliceTable = GenerateService.getSliceTable(codeGenConfig, endpoint);
+		final String responseType;
+
+		if (stream) {
+			responseType = "StreamingResponseBody";
+		} else if (endpoint.isSliceType()) {
+			responseType = "SliceResponse<"
+					+ generator.getJavaType(endpoint.getResponseType().replaceAll("\\[\\]", ""),
+							CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false)
+					+ ">";
+			generator.addImport(codeGenConfig.getBasePackage() + ".pagination.SliceResponse");
+		} else {
+			responseType = generator.getJavaType(endpoint.getResponseType(), CodeGenerator.DEFAULT_TRANSPORT_PACKAGE,
+					endpoint.isPageType());
+		}
+
+		keysetPagination |= responseType.startsWith("KeysetPage<");
 
-			methods.append(CodeGenerator.INDENT1).append("@RequestMapping(path = \"").append(resource.resourcePath())
-					.append("\", method = ").append(getRequestMethod(method))
-					.append(getMediaType(method, api.mediaType())).append(")").append(CodeGenerator.NEWLINE);
+		// Get the exceptions
+		endpoint.getErrorResponseTypes().entrySet().forEach(errorResponse -> {
+			final String exceptionClassName = GeneratorUtil.getExceptionClassName(errorResponse.getKey());
+			final String errorReturnType = generator.getJavaType(errorResponse.getValue(),
+					CodeGenerator.ERROR_TRANSPORT_PACKAGE, false);
 
-			generator.addImport("org.springframework.web.bind.annotation.RequestMapping");
-			generator.addImport("org.springframework.web.bind.annotation.RequestMethod");
+			exceptionMap.put(errorResponse.getKey(), exceptionClassName + "~" + errorReturnType);
+			generator.addImport(codeGenConfig.getBasePackage() + ".exception." + exceptionClassName);
+		});
 
-			final String methodName = method.method()
-					+ GeneratorUtil.getTitleCaseFromCamelCase(resource.displayName().value());
-			final boolean pageType = method.is().stream().anyMatch(trait -> trait.name().equals("Paginated"));
+		final Long maxAge = responseType.equals("Void") ? null : getMaxAge(endpoint);
+		final boolean etag = !stream && GenerateService.getEtagTable(codeGenConfig, endpoint, responseType) != null;
+		final boolean etagFilter = codeGenConfig.getExternalConfig().hasHttpCacheConfig()
+				&& codeGenConfig.getExternalConfig().getHttpCacheConfig().generateEtags();
+		final String methodParameters = getMethodParameters(endpoint);
+		final String methodVariables = getMethodVariables(endpoint);
+		final String serviceCall = apiTitleSvc + "." + methodName + "(" + methodVariables + ")";
+		final String responseBody;
+
+		if (stream) {
+			responseBody = "JsonArrayStream.of(objectMapper, consumer -> " + apiTitleSvc + "." + methodName + "("
+					+ methodVariables + (methodVariables.isEmpty() ? "" : ", ") + "consumer))";
+		} else if (endpoint.isSliceType()) {
+			responseBody = "SliceResponse.of(" + serviceCall + (sliceTable != null && sliceTable.estimatedCount()
+					? ", " + apiTitleSvc + "." + methodName + "EstimatedCount()" : "") + ")";
+		} else {
+			responseBody = serviceCall;
+		}
 
-			final String responseType = generator.getJavaType(method.responses().stream()
-					.filter(response -> response.code().value().startsWith("2"))
-					.map(response -> GeneratorUtil.getMemberType(response.body().get(0))).findFirst().orElse("string"),
-					CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, pageType);
+		methods.append(CodeGenerator.INDENT1).append("public ResponseEntity<").append(responseType).append("> ")
+				.append(methodName).append("(").append(methodParameters)
+				.append(etag ? (methodParameters.isEmpty() ? "" : ", ") + "final WebRequest webRequest" : "")
+				.append(stream && etagFilter
+						? (methodParameters.isEmpty() ? "" : ", ") + "final HttpServletRequest request" : "")
+				.append(") throws Exception {").append(CodeGenerator.NEWLINE);
 
-			// Get the exceptions
-			method.responses().stream().filter(response -> !response.code().value().startsWith("2"))
-					.forEach(response -> {
-						final String exceptionClassName = GeneratorUtil.getExceptionClassName(response.code().value());
-						final String errorReturnType = generator.getJavaType(
-								GeneratorUtil.getMemberType(response.body().get(0)),
-								CodeGenerator.ERROR_TRANSPORT_PACKAGE, false);
+		generator.addImport("org.springframework.http.ResponseEntity");
 
-						exceptionMap.put(response.code().value(), exceptionClassName + "~" + errorReturnType);
-						generator.addImport(codeGenConfig.getBasePackage() + ".exception." + exceptionClassName);
-					});
+		if (stream) {
+			generator.addImport("org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody");
+			generator.addImport(codeGenConfig.getBasePackage() + ".streaming.JsonArrayStream");
+		}
 
-			methods.append(CodeGenerator.INDENT1).append("public ResponseEntity<").append(responseType).append("> ")
-					.append(methodName).append("(").append(getMethodParameters(method)).append(") throws Exception {")
+		// The ETag filter would otherwise buffer the whole stream to hash it
+		if (stream && etagFilter) {
+			methods.append(CodeGenerator.INDENT2).append("ShallowEtagHeaderFilter.disableContentCaching(request);")
+					.append(CodeGenerator.NEWLINE).append(CodeGenerator.NEWLINE);
+
+			generator.addImport("javax.servlet.http.HttpServletRequest");
+			generator.addImport("org.springframework.web.filter.ShallowEtagHeaderFilter");
+		}
+
+		if (etag) {
+			methods.append(CodeGenerator.INDENT2).append("final String eTag = ").append(apiTitleSvc).append(".")
+					.append(methodName).append("ETag(")
+					.append(endpoint.getUriParameters().stream().map(GeneratorUtil::getMemberName)
+							.collect(Collectors.joining(", ")))
+					.append(");").append(CodeGenerator.NEWLINE).append(CodeGenerator.NEWLINE);
+			methods.append(CodeGenerator.INDENT2).append("if (eTag != null && webRequest.checkNotModified(eTag)) {")
+					.append(CodeGenerator.NEWLINE);
+			methods.append(CodeGenerator.INDENT3).append("return ResponseEntity.status(HttpStatus.NOT_MODIFIED)")
+					.append(maxAge == null ? "" : getCacheControl(maxAge)).append(".build();")
+					.append(CodeGenerator.NEWLINE);
+			methods.append(CodeGenerator.INDENT2).append("}").append(CodeGenerator.NEWLINE)
 					.append(CodeGenerator.NEWLINE);
 
-			generator.addImport("org.springframework.http.ResponseEntity");
+			generator.addImport("org.springframework.web.context.request.WebRequest");
+		}
 
-			if (responseType.equals("Void")) {
-				methods.append(CodeGenerator.INDENT2).append(apiTitleSvc).append(".").append(methodName).append("(")
-						.append(getMethodVariables(method)).append(");").append(CodeGenerator.NEWLINE);
-				methods.append(CodeGenerator.INDENT2).append("return new ResponseEntity<>(HttpStatus.OK);")
-						.append(CodeGenerator.NEWLINE);
-			} else {
-				methods.append(CodeGenerator.INDENT2).append("return new ResponseEntity<>(").append(apiTitleSvc)
-						.append(".").append(methodName).append("(").append(getMethodVariables(method))
-						.append("), HttpStatus.OK);").append(CodeGenerator.NEWLINE);
-			}
+		if (responseType.equals("Void")) {
+			methods.append(CodeGenerator.INDENT2).append(apiTitleSvc).append(".").append(methodName).append("(")
+					.append(getMethodVariables(endpoint)).append(");").append(CodeGenerator.NEWLINE);
+			methods.append(CodeGenerator.INDENT2).append("return new ResponseEntity<>(HttpStatus.OK);")
+					.append(CodeGenerator.NEWLINE);
+		} else if (stream) {
+			// The produces condition does not set the content type of a streamed body
+			methods.append(CodeGenerator.INDENT2).append("return ResponseEntity.ok()")
+					.append(maxAge == null ? "" : getCacheControl(maxAge))
+					.append(".contentType(MediaType.APPLICATION_JSON_UTF8).body(").append(responseBody).append(");")
+					.append(CodeGenerator.NEWLINE);
 
-			generator.addImport("org.springframework.http.HttpStatus");
+			generator.addImport("org.springframework.http.MediaType");
+		} else if (maxAge != null) {
+			methods.append(CodeGenerator.INDENT2).append("return ResponseEntity.ok()").append(getCacheControl(maxAge))
+					.append(".body(").append(responseBody).append(");").append(CodeGenerator.NEWLINE);
+		} else {
+			methods.append(CodeGenerator.INDENT2).append("return new ResponseEntity<>(").append(responseBody)
+					.append(", HttpStatus.OK);").append(CodeGenerator.NEWLINE);
+		}
 
-			methods.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+		generator.addImport("org.springframework.http.HttpStatus");
 
-			generator.addCodeBlock(methods.toString());
-		});
+		methods.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
 
-		resource.resources().stream().forEach(subResource -> createResourceMethods(subResource));
+		generator.addCodeBlock(methods.toString());
 	}
 
-	public GenerateRestController(final Api api, final CodeGenConfig codeGenConfig) {
+	public GenerateRestController(final ApiModel api, final CodeGenConfig codeGenConfig) {
 		this.api = api;
 		this.codeGenConfig = codeGenConfig;
-		apiTitle = api.title().value().replaceAll(" ", "");
+		apiTitle = api.getTitle().replaceAll(" ", "");
 		apiTitleSvc = GeneratorUtil.getCamelCaseFromTitleCase(apiTitle) + "Svc";
 		generator = new CodeGenerator(codeGenConfig, "restcontroller", Arrays.asList("@RestController"), false,
 				apiTitle + "RestController", null, null, false);
+		generator.setOrigin("RAML API " + api.getTitle());
 		generator.addImport("org.springframework.web.bind.annotation.RestController");
 	}
 
 	public void create() {
-		final StringBuffer members = new StringBuffer();
+		final StringBuilder members = new StringBuilder();
 		members.append(CodeGenerator.INDENT1).append("@Autowired").append(CodeGenerator.NEWLINE)
 				.append(CodeGenerator.INDENT1).append("private ").append(apiTitle + "Service ").append(apiTitleSvc)
 				.append(";").append(CodeGenerator.NEWLINE);
+
+		if (api.getEndpoints().stream()
+				.anyMatch(endpoint -> GenerateService.getStreamTable(codeGenConfig, endpoint) != null)) {
+			members.append(CodeGenerator.NEWLINE).append(CodeGenerator.INDENT1).append("@Autowired")
+					.append(CodeGenerator.NEWLINE).append(CodeGenerator.INDENT1)
+					.append("private ObjectMapper objectMapper;").append(CodeGenerator.NEWLINE);
+			generator.addImport("com.fasterxml.jackson.databind.ObjectMapper");
+		}
+
 		generator.addCodeBlock(members.toString());
 		generator.addImport(codeGenConfig.getBasePackage() + ".service." + apiTitle + "Service");
 		generator.addImport("org.springframework.beans.factory.annotation.Autowired");
 
-		api.resources().stream().forEach(resource -> createResourceMethods(resource));
+		api.getEndpoints().forEach(endpoint -> createEndpointMethod(endpoint));
 
 		exceptionMap.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(exception -> {
-			final StringBuffer methods = new StringBuffer();
+			final StringBuilder methods = new StringBuilder();
 			final String[] exceptionValues = exception.getValue().split("~");
+			generator.markOrigin("RAML response code " + exception.getKey());
 
 			methods.append(CodeGenerator.INDENT1).append("@ExceptionHandler(").append(exceptionValues[0])
 					.append(".class)").append(CodeGenerator.NEWLINE);
@@ -296,7 +391,30 @@ public class GenerateRestController {
 			generator.addCodeBlock(methods.toString());
 		});
 
-		final StringBuffer genericExceptionBlock = new StringBuffer();
+		// An invalid cursor or page size is the client's error
+		if (keysetPagination) {
+			final StringBuilder methods = new StringBuilder();
+			generator.markOrigin("RAML API " + api.getTitle());
+
+			methods.append(CodeGenerator.INDENT1).append("@ExceptionHandler(InvalidPageRequestException.class)")
+					.append(CodeGenerator.NEWLINE);
+			methods.append(CodeGenerator.INDENT1).append("public ResponseEntity<String> ")
+					.append("whenInvalidPageRequestException(final InvalidPageRequestException exception) {")
+					.append(CodeGenerator.NEWLINE);
+			methods.append(CodeGenerator.INDENT2)
+					.append("return new ResponseEntity<>(exception.getMessage(), HttpStatus.BAD_REQUEST);")
+					.append(CodeGenerator.NEWLINE);
+			methods.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+
+			generator.addImport(codeGenConfig.getBasePackage() + ".pagination.InvalidPageRequestException");
+			generator.addImport("org.springframework.http.HttpStatus");
+			generator.addImport("org.springframework.http.ResponseEntity");
+			generator.addImport("org.springframework.web.bind.annotation.ExceptionHandler");
+			generator.addCodeBlock(methods.toString());
+		}
+
+		final StringBuilder genericExceptionBlock = new StringBuilder();
+		generator.markOrigin("RAML API " + api.getTitle());
 		final String internalServerErrorResponse = exceptionMap.entrySet().stream()
 				.filter(exception -> "500".equals(exception.getKey()))
 				.map(exception -> exception.getValue().split("~")[1]).findAny().orElse(exceptionMap.entrySet().stream()
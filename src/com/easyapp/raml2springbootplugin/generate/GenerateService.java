@@ -2,27 +2,39 @@ package com.easyapp.raml2springbootplugin.generate;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.raml.v2.api.model.v10.api.Api;
-import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
-import org.raml.v2.api.model.v10.methods.Method;
-import org.raml.v2.api.model.v10.resources.Resource;
 import org.springframework.util.StringUtils;
 
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.CacheConfig;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.CacheConfig.Cache;
 import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig.Table;
 import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig.Table.EntityMapping;
+import com.easyapp.raml2springbootplugin.generate.util.ApiModel;
+import com.easyapp.raml2springbootplugin.generate.util.EndpointDefinition;
+import com.easyapp.raml2springbootplugin.generate.util.EntityMappingIndex;
 import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
+import com.easyapp.raml2springbootplugin.generate.util.TypeDefinition;
 
 public class GenerateService {
-	private final Api api;
+	private final ApiModel api;
 	private final JpaConfig jpaConfig;
+	private final CacheConfig cacheConfig;
+	private final CodeGenConfig codeGenConfig;
 	private final String basePackage;
 	private final CodeGenerator generator;
+	private final EntityMappingIndex entityMappingIndex;
+	private final Map<EndpointDefinition, Table> jpaTables = new HashMap<>();
+	private final Map<String, Cache> cachesByTable = new HashMap<>();
 
-	private String getPathVariables(final List<TypeDeclaration> uriParameters) {
+	private String getPathVariables(final List<TypeDefinition> uriParameters) {
 		if (uriParameters.isEmpty()) {
 			return "";
 		} else {
@@ -35,11 +47,11 @@ public class GenerateService {
 		}
 	}
 
-	private String getRequestParameters(final Method method) {
-		if (method.queryParameters().isEmpty()) {
+	private String getRequestParameters(final EndpointDefinition endpoint) {
+		if (endpoint.getQueryParameters().isEmpty()) {
 			return "";
 		} else {
-			return method.queryParameters().stream()
+			return endpoint.getQueryParameters().stream()
 					.map(queryParam -> "final "
 							+ generator.getJavaType(GeneratorUtil.getMemberType(queryParam),
 									CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false)
@@ -48,11 +60,11 @@ public class GenerateService {
 		}
 	}
 
-	private String getMethodParameters(final Method method) {
+	private String getMethodParameters(final EndpointDefinition endpoint) {
 		final List<String> variables = new ArrayList<>();
-		final String headerVariables = getPathVariables(GeneratorUtil.getHeaders(method));
-		final String pathVariables = getPathVariables(GeneratorUtil.getURIParameters(method.resource()));
-		final String requestParams = getRequestParameters(method);
+		final String headerVariables = getPathVariables(endpoint.getHeaders());
+		final String pathVariables = getPathVariables(endpoint.getUriParameters());
+		final String requestParams = getRequestParameters(endpoint);
 
 		if (!("").equals(headerVariables)) {
 			variables.add(headerVariables);
@@ -62,14 +74,9 @@ public class GenerateService {
 			variables.add(pathVariables);
 		}
 
-		if (("post").equals(method.method()) || ("put").equals(method.method()) || ("patch").equals(method.method())) {
-			variables
-					.add("final "
-							+ generator.getJavaType(
-									method.body().isEmpty() ? "string"
-											: GeneratorUtil.getMemberType(method.body().get(0)),
-									CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false)
-							+ " " + GeneratorUtil.getRequestBodyVariableName(method));
+		if (endpoint.hasRequestBody()) {
+			variables.add("final " + generator.getJavaType(endpoint.getRequestBodyType(),
+					CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false) + " " + endpoint.getRequestBodyVariableName());
 		}
 
 		if (!("").equals(requestParams)) {
@@ -79,8 +86,8 @@ public class GenerateService {
 		return variables.stream().collect(Collectors.joining(", "));
 	}
 
-	private String getUriVariables(final Method method, final String entity) {
-		final String uriVariables = GeneratorUtil.getURIParameters(method.resource()).stream()
+	private String getUriVariables(final EndpointDefinition endpoint, final String entity) {
+		final String uriVariables = endpoint.getUriParameters().stream()
 				.map(GeneratorUtil::getMemberName).collect(Collectors.joining(", "));
 
 		if (uriVariables.contains(",")) {
@@ -90,13 +97,15 @@ public class GenerateService {
 		}
 	}
 
-	private String generateJpaImplementation(final Method method, final String responseType) {
-		final StringBuffer impl = new StringBuffer();
+	private String generateJpaImplementation(final EndpointDefinition endpoint, final String responseType) {
+		final StringBuilder impl = new StringBuilder();
+
+		final String transportType = responseType.contains("<")
+				? responseType.substring(responseType.indexOf("<") + 1, responseType.length() - 1) : responseType;
 
-		final String transportType = responseType.startsWith("Page<") || responseType.startsWith("List<")
-				? responseType.substring(5, responseType.length() - 1) : responseType;
+		final Map<Table, EntityMapping> entityMappings = entityMappingIndex.getEntityMappings(transportType);
 
-		jpaConfig.getTables().forEach(table -> {
+		entityMappings.forEach((table, entityMapping) -> {
 			if (impl.length() > 0) {
 				return;
 			}
@@ -105,117 +114,388 @@ public class GenerateService {
 			final String repositoryName = GeneratorUtil.getCamelCase(table.getTableName(), "_") + "Repository";
 			final String entity = GeneratorUtil.getTitleCase(table.getTableName(), "_");
 			final String entityName = entity + "Entity";
-			final EntityMapping entityMapping = table.getEntityMappings() != null ? table.getEntityMappings().stream()
-					.filter(mapping -> transportType
-							.equals(GeneratorUtil.getTitleCaseFromCamelCase(mapping.getRamlType()) + "Transport"))
-					.findFirst().orElse(null) : null;
 
-			if (entityMapping != null) {
-				generator.addImport(basePackage + ".mapper." + mapperName);
+			generator.addImport(basePackage + ".mapper." + mapperName);
 
-				if (method.method().equals("get")) {
-					if (responseType.startsWith("Page<")) {
+			if (endpoint.getMethod().equals("get")) {
+				if (responseType.startsWith("KeysetPage<")) {
+					impl.append(CodeGenerator.INDENT2).append("return ").append(repositoryName)
+							.append(".findKeysetPage(cursor, size).map(").append(mapperName).append("::get")
+							.append(transportType).append(");").append(CodeGenerator.NEWLINE);
+				} else if (responseType.startsWith("Slice<")) {
+					// findSlice is only generated on the table getSliceTable picks
+					if (entityMapping.useForCRUD()) {
 						impl.append(CodeGenerator.INDENT2).append("return ").append(repositoryName)
-								.append(".findAll(pageable).map(").append(mapperName).append("::get")
+								.append(".findSlice(pageable).map(").append(mapperName).append("::get")
 								.append(transportType).append(");").append(CodeGenerator.NEWLINE);
-					} else if (responseType.startsWith("List<")) {
-						impl.append(CodeGenerator.INDENT2).append("return ").append(repositoryName)
-								.append(".findAll().parallelStream().map(").append(mapperName).append("::get")
-								.append(transportType).append(").collect(toList());").append(CodeGenerator.NEWLINE);
-
-						generator.addImport("static java.util.stream.Collectors.toList");
-					} else if (entityMapping.useForCRUD()) {
-						impl.append(CodeGenerator.INDENT2).append("return ").append(mapperName).append(".get")
-								.append(transportType).append("(").append(repositoryName).append(".findOne(")
-								.append(getUriVariables(method, entity)).append("));").append(CodeGenerator.NEWLINE);
 					}
+				} else if (responseType.startsWith("Page<")) {
+					impl.append(CodeGenerator.INDENT2).append("return ").append(repositoryName)
+							.append(".findAll(pageable).map(").append(mapperName).append("::get")
+							.append(transportType).append(");").append(CodeGenerator.NEWLINE);
+				} else if (responseType.startsWith("List<")) {
+					impl.append(CodeGenerator.INDENT2).append("return ").append(repositoryName)
+							.append(".findAll().parallelStream().map(").append(mapperName).append("::get")
+							.append(transportType).append(").collect(toList());").append(CodeGenerator.NEWLINE);
+
+					generator.addImport("static java.util.stream.Collectors.toList");
 				} else if (entityMapping.useForCRUD()) {
-					if (responseType.startsWith("List<") || responseType.startsWith("Page<")) {
-						impl.append(CodeGenerator.INDENT2).append("return ").append(repositoryName).append(".save(")
-								.append(GeneratorUtil.getRequestBodyVariableName(method))
-								.append(".parallelStream().map(").append(mapperName).append("::get").append(entityName)
-								.append(").collect(toList())).parallelStream().map(").append(mapperName).append("::get")
-								.append(transportType).append(").collect(toList());").append(CodeGenerator.NEWLINE);
-
-						generator.addImport("static java.util.stream.Collectors.toList");
-					} else {
-						impl.append(CodeGenerator.INDENT2).append("return ").append(mapperName).append(".get")
-								.append(transportType).append("(").append(repositoryName).append(".save(")
-								.append(mapperName).append(".get").append(entityName).append("(")
-								.append(GeneratorUtil.getRequestBodyVariableName(method)).append(")));")
-								.append(CodeGenerator.NEWLINE);
-					}
+					impl.append(CodeGenerator.INDENT2).append("return ").append(mapperName).append(".get")
+							.append(transportType).append("(").append(repositoryName).append(".findOne(")
+							.append(getUriVariables(endpoint, entity)).append("));").append(CodeGenerator.NEWLINE);
 				}
-			} else if (table.getEntityMappings() != null && transportType.equals("Void")
-					&& method.method().equals("delete")) {
-				final String crudRepository = table.getEntityMappings().stream()
-						.filter(mapping -> mapping.useForCRUD()
-								&& GeneratorUtil.getTitleCaseFromCamelCase(mapping.getRamlType())
-										.equals(GeneratorUtil
-												.getTitleCaseFromCamelCase(method.resource().displayName().value())))
-						.map(mapping -> GeneratorUtil.getCamelCaseFromTitleCase(mapping.getRamlType()) + "Repository")
-						.findFirst().orElse(null);
-
-				if (crudRepository != null) {
-					impl.append(CodeGenerator.INDENT2).append(crudRepository).append(".delete(")
-							.append(getUriVariables(method, entity)).append(");").append(CodeGenerator.NEWLINE);
+			} else if (entityMapping.useForCRUD()) {
+				if (responseType.contains("<")) {
+					impl.append(CodeGenerator.INDENT2).append("return ").append(repositoryName).append(".save(")
+							.append(endpoint.getRequestBodyVariableName())
+							.append(".parallelStream().map(").append(mapperName).append("::get").append(entityName)
+							.append(")")
+							.append(table.getEtagColumn() == null ? ""
+									: ".map(" + repositoryName + "::withCurrentVersion)")
+							.append(".collect(toList())).parallelStream().map(").append(mapperName).append("::get")
+							.append(transportType).append(").collect(toList());").append(CodeGenerator.NEWLINE);
+
+					generator.addImport("static java.util.stream.Collectors.toList");
+				} else {
+					final String entityValue = mapperName + ".get" + entityName + "("
+							+ endpoint.getRequestBodyVariableName() + ")";
+
+					impl.append(CodeGenerator.INDENT2).append("return ").append(mapperName).append(".get")
+							.append(transportType).append("(").append(repositoryName).append(".save(")
+							.append(table.getEtagColumn() == null ? entityValue
+									: repositoryName + ".withCurrentVersion(" + entityValue + ")")
+							.append("));").append(CodeGenerator.NEWLINE);
 				}
 			}
+
+			if (impl.length() > 0) {
+				jpaTables.put(endpoint, table);
+			}
 		});
 
+		if (impl.length() == 0 && transportType.equals("Void") && endpoint.getMethod().equals("delete")) {
+			entityMappingIndex
+					.getCrudMappings(GeneratorUtil.getTitleCaseFromCamelCase(endpoint.getResource().getDisplayName()))
+					.forEach((table, crudMapping) -> {
+						if (impl.length() > 0 || entityMappings.containsKey(table)) {
+							return;
+						}
+
+						final String crudRepository = GeneratorUtil.getCamelCaseFromTitleCase(crudMapping.getRamlType())
+								+ "Repository";
+						final String entity = GeneratorUtil.getTitleCase(table.getTableName(), "_");
+
+						impl.append(CodeGenerator.INDENT2).append(crudRepository).append(".delete(")
+								.append(getUriVariables(endpoint, entity)).append(");").append(CodeGenerator.NEWLINE);
+						jpaTables.put(endpoint, table);
+					});
+		}
+
 		return impl.toString();
 	}
 
-	private void createResourceMethods(final Resource resource) {
-		resource.methods().stream().forEach(method -> {
-			final StringBuffer methods = new StringBuffer();
-			final boolean pageType = method.is().stream().anyMatch(trait -> trait.name().equals("Paginated"));
+	private String getCacheKey(final EndpointDefinition endpoint) {
+		final List<String> uriVariables = endpoint.getUriParameters().stream()
+				.map(uriParam -> "#" + GeneratorUtil.getMemberName(uriParam)).collect(Collectors.toList());
+
+		if (uriVariables.isEmpty()) {
+			return null;
+		} else if (uriVariables.size() == 1) {
+			return uriVariables.get(0);
+		} else {
+			return "{" + uriVariables.stream().collect(Collectors.joining(", ")) + "}";
+		}
+	}
+
+	private boolean isCachedResource(final Cache cache, final EndpointDefinition endpoint) {
+		final String resourcePath = endpoint.getResource().getResourcePath();
+
+		return cache.getResourcePath() != null && (resourcePath.equals(cache.getResourcePath())
+				|| resourcePath.startsWith(cache.getResourcePath() + "/"));
+	}
 
-			final String responseType = generator.getJavaType(method.responses().stream()
-					.filter(response -> response.code().value().startsWith("2"))
-					.map(response -> GeneratorUtil.getMemberType(response.body().get(0))).findFirst().orElse("string"),
-					CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, pageType);
+	private String getAnnotations(final List<String> annotations, final String delimiter) {
+		return annotations.size() == 1 ? annotations.get(0)
+				: "{ " + annotations.stream().collect(Collectors.joining(delimiter)) + " }";
+	}
 
-			final String methodName = method.method()
-					+ GeneratorUtil.getTitleCaseFromCamelCase(resource.displayName().value());
+	private String getCacheable(final String cacheName, final String key) {
+		generator.addImport("org.springframework.cache.annotation.Cacheable");
 
-			methods.append(CodeGenerator.INDENT1).append("public ")
-					.append(responseType.equals("Void") ? "void" : responseType).append(" ").append(methodName)
-					.append("(").append(getMethodParameters(method)).append(") throws Exception {")
-					.append(CodeGenerator.NEWLINE);
+		return CodeGenerator.INDENT1 + "@Cacheable(cacheNames = \"" + cacheName + "\""
+				+ (key == null ? "" : ", key = \"" + key + "\"") + ", unless = \"#result == null\")"
+				+ CodeGenerator.NEWLINE;
+	}
 
-			final String jpaImplementation = (jpaConfig != null && jpaConfig.getTables() != null)
-					? generateJpaImplementation(method, responseType) : null;
+	// Entities are put into or evicted from their cache by key, everything else that a change could affect is cleared
+	private String getCacheAnnotations(final EndpointDefinition endpoint, final String responseType) {
+		final Table table = jpaTables.get(endpoint);
+		final Cache tableCache = table == null ? null : cachesByTable.get(table.getTableName());
+		final boolean collection = responseType.contains("<");
+		final String key = collection ? null : getCacheKey(endpoint);
+
+		if (endpoint.getMethod().equals("get")) {
+			if (tableCache != null) {
+				return key == null ? getCacheable(GeneratorUtil.getQueriesCacheName(tableCache), null)
+						: getCacheable(GeneratorUtil.getCacheName(tableCache), key);
+			}
 
-			if (StringUtils.isEmpty(jpaImplementation)) {
-				methods.append(CodeGenerator.INDENT2).append("// TODO: Build Business Logic Here")
-						.append(CodeGenerator.NEWLINE);
-				methods.append(CodeGenerator.INDENT2).append("return null;").append(CodeGenerator.NEWLINE);
+			return cacheConfig.getCaches().stream().filter(cache -> isCachedResource(cache, endpoint)).findFirst()
+					.map(cache -> getCacheable(GeneratorUtil.getCacheName(cache), null)).orElse("");
+		}
+
+		final List<String> puts = new ArrayList<>();
+		final List<String> evicts = new ArrayList<>();
+		final Set<String> clearedCaches = new LinkedHashSet<>();
+
+		if (tableCache != null) {
+			final String cacheName = GeneratorUtil.getCacheName(tableCache);
+
+			if (key != null && endpoint.getMethod().equals("put") && !responseType.equals("Void")) {
+				puts.add("@CachePut(cacheNames = \"" + cacheName + "\", key = \"" + key + "\")");
+			} else if (key != null && endpoint.getMethod().equals("delete")) {
+				evicts.add("@CacheEvict(cacheNames = \"" + cacheName + "\", key = \"" + key + "\")");
 			} else {
-				methods.append(jpaImplementation);
+				clearedCaches.add(cacheName);
 			}
 
-			methods.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+			clearedCaches.add(GeneratorUtil.getQueriesCacheName(tableCache));
+
+			// Transports of a table can be mapped from the tables it has relationships with
+			jpaConfig.getTables().stream()
+					.filter(cachedTable -> cachesByTable.containsKey(cachedTable.getTableName())
+							&& cachedTable.getRelationships() != null
+							&& cachedTable.getRelationships().stream().anyMatch(relationship -> table.getTableName()
+									.equals(relationship.getReferencedTableName())))
+					.map(cachedTable -> cachesByTable.get(cachedTable.getTableName())).forEach(cache -> {
+						clearedCaches.add(GeneratorUtil.getCacheName(cache));
+						clearedCaches.add(GeneratorUtil.getQueriesCacheName(cache));
+					});
+		}
 
-			generator.addCodeBlock(methods.toString());
-		});
+		cacheConfig.getCaches().stream().filter(cache -> isCachedResource(cache, endpoint))
+				.forEach(cache -> clearedCaches.add(GeneratorUtil.getCacheName(cache)));
+
+		if (!clearedCaches.isEmpty()) {
+			evicts.add("@CacheEvict(cacheNames = "
+					+ getAnnotations(clearedCaches.stream().map(cacheName -> "\"" + cacheName + "\"")
+							.collect(Collectors.toList()), ", ")
+					+ ", allEntries = true)");
+		}
+
+		if (!puts.isEmpty()) {
+			generator.addImport("org.springframework.cache.annotation.CachePut");
+		}
+
+		if (!evicts.isEmpty()) {
+			generator.addImport("org.springframework.cache.annotation.CacheEvict");
+		}
+
+		if (puts.size() + evicts.size() == 0) {
+			return "";
+		} else if (puts.size() + evicts.size() == 1) {
+			return CodeGenerator.INDENT1 + (puts.isEmpty() ? evicts : puts).get(0) + CodeGenerator.NEWLINE;
+		}
+
+		generator.addImport("org.springframework.cache.annotation.Caching");
+
+		final String delimiter = "," + CodeGenerator.NEWLINE + CodeGenerator.INDENT4;
+
+		return CodeGenerator.INDENT1 + "@Caching("
+				+ (puts.isEmpty() ? "" : "put = " + getAnnotations(puts, delimiter) + "," + CodeGenerator.NEWLINE
+						+ CodeGenerator.INDENT3)
+				+ "evict = " + getAnnotations(evicts, delimiter) + ")" + CodeGenerator.NEWLINE;
+	}
+
+	// The table generateJpaImplementation reads a single transport from, if the table has an ETag column
+	static Table getEtagTable(final CodeGenConfig codeGenConfig, final EndpointDefinition endpoint,
+			final String responseType) {
+		final JpaConfig jpaConfig = codeGenConfig.getExternalConfig().getJpaConfig();
+
+		if (!codeGenConfig.getExternalConfig().hasHttpCacheConfig()
+				|| !codeGenConfig.getExternalConfig().getHttpCacheConfig().generateEtags() || jpaConfig == null
+				|| jpaConfig.getTables() == null || !endpoint.getMethod().equals("get")
+				|| endpoint.getUriParameters().isEmpty() || responseType.contains("<")) {
+			return null;
+		}
+
+		final Table table = codeGenConfig.getEntityMappingIndex().getCrudTable(responseType);
+
+		return table == null || table.getEtagColumn() == null ? null : table;
+	}
+
+	private void createEtagMethod(final EndpointDefinition endpoint, final Table table) {
+		final StringBuilder method = new StringBuilder();
+		final String entity = GeneratorUtil.getTitleCase(table.getTableName(), "_");
+
+		method.append(CodeGenerator.INDENT1).append("public String ").append(endpoint.getMethodName())
+				.append("ETag(").append(getPathVariables(endpoint.getUriParameters())).append(") throws Exception {")
+				.append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT2).append("return Objects.toString(")
+				.append(GeneratorUtil.getCamelCase(table.getTableName(), "_")).append("Repository.findETag(")
+				.append(getUriVariables(endpoint, entity)).append("), null);").append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
 
-		resource.resources().stream().forEach(subResource -> createResourceMethods(subResource));
+		if (getUriVariables(endpoint, entity).startsWith("new ")) {
+			generator.addImport(basePackage + ".entity." + entity + "Id");
+		}
+
+		generator.addImport("java.util.Objects");
+		generator.addCodeBlock(method.toString());
+	}
+
+	// The table generateJpaImplementation reads a List transport from, if the list is streamed to the response
+	static Table getStreamTable(final CodeGenConfig codeGenConfig, final EndpointDefinition endpoint) {
+		final JpaConfig jpaConfig = codeGenConfig.getExternalConfig().getJpaConfig();
+
+		if (!codeGenConfig.getExternalConfig().hasStreamingConfig() || jpaConfig == null
+				|| jpaConfig.getTables() == null || !endpoint.getMethod().equals("get") || endpoint.isPageType()
+				|| endpoint.isSliceType() || !endpoint.getResponseType().endsWith("[]")) {
+			return null;
+		}
+
+		return codeGenConfig.getEntityMappingIndex()
+				.getCrudTable(endpoint.getResponseType().replaceAll("\\[\\]", "") + "Transport");
+	}
+
+	// The table generateJpaImplementation reads a Slice transport from
+	static Table getSliceTable(final CodeGenConfig codeGenConfig, final EndpointDefinition endpoint) {
+		final JpaConfig jpaConfig = codeGenConfig.getExternalConfig().getJpaConfig();
+
+		if (jpaConfig == null || jpaConfig.getTables() == null || !endpoint.getMethod().equals("get")
+				|| !endpoint.isSliceType() || !endpoint.getResponseType().endsWith("[]")) {
+			return null;
+		}
+
+		return codeGenConfig.getEntityMappingIndex()
+				.getCrudTable(endpoint.getResponseType().replaceAll("\\[\\]", "") + "Transport");
+	}
+
+	// Slices have no total, an estimated count is read separately and cached with the table's queries if it can be
+	private void createEstimatedCountMethod(final EndpointDefinition endpoint, final Table table) {
+		final StringBuilder method = new StringBuilder();
+		final Cache tableCache = cachesByTable.get(table.getTableName());
+		final String methodName = endpoint.getMethodName() + "EstimatedCount";
+
+		if (tableCache != null) {
+			method.append(getCacheable(GeneratorUtil.getQueriesCacheName(tableCache), "'" + methodName + "'"));
+		}
+
+		method.append(CodeGenerator.INDENT1).append("public Long ").append(methodName).append("() throws Exception {")
+				.append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT2).append("return ")
+				.append(GeneratorUtil.getCamelCase(table.getTableName(), "_")).append("Repository.estimateCount();")
+				.append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+
+		generator.addCodeBlock(method.toString());
+	}
+
+	// Each entity is detached once it is mapped so the persistence context does not grow with the table
+	private void createStreamMethod(final EndpointDefinition endpoint, final Table table) {
+		final StringBuilder method = new StringBuilder();
+		final String transportType = generator.getJavaType(endpoint.getResponseType().replaceAll("\\[\\]", ""),
+				CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false);
+		final String entity = GeneratorUtil.getTitleCase(table.getTableName(), "_");
+		final String mapperName = entity + "Mapper";
+		final String methodParameters = getMethodParameters(endpoint);
+
+		method.append(CodeGenerator.INDENT1).append("@Transactional(readOnly = true)").append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT1).append("public void ").append(endpoint.getMethodName()).append("(")
+				.append(methodParameters).append(methodParameters.isEmpty() ? "" : ", ")
+				.append("final Consumer<? super ").append(transportType).append("> consumer) throws Exception {")
+				.append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT2).append("try (final Stream<").append(entity).append("> entities = ")
+				.append(GeneratorUtil.getCamelCase(table.getTableName(), "_")).append("Repository.streamAll()) {")
+				.append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT3).append("entities.forEach(entity -> {").append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT4).append("consumer.accept(").append(mapperName).append(".get")
+				.append(transportType).append("(entity));").append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT4).append("entityManager.detach(entity);").append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT3).append("});").append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT2).append("}").append(CodeGenerator.NEWLINE);
+		method.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+
+		generator.addImport("java.util.function.Consumer");
+		generator.addImport("java.util.stream.Stream");
+		generator.addImport("org.springframework.transaction.annotation.Transactional");
+		generator.addImport(basePackage + ".entity." + entity);
+		generator.addImport(basePackage + ".mapper." + mapperName);
+		generator.addCodeBlock(method.toString());
+	}
+
+	private void createEndpointMethod(final EndpointDefinition endpoint) {
+		final StringBuilder methods = new StringBuilder();
+		generator.markOrigin(endpoint.getOrigin());
+
+		final Table streamTable = getStreamTable(codeGenConfig, endpoint);
+
+		if (streamTable != null) {
+			createStreamMethod(endpoint, streamTable);
+			return;
+		}
+
+		final String responseType = generator.getJavaType(endpoint.getResponseType(),
+				CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, endpoint.isPageType(), endpoint.isSliceType());
+		final String jpaImplementation = (jpaConfig != null && jpaConfig.getTables() != null)
+				? generateJpaImplementation(endpoint, responseType) : null;
+
+		if (cacheConfig != null) {
+			methods.append(getCacheAnnotations(endpoint, responseType));
+		}
+
+		methods.append(CodeGenerator.INDENT1).append("public ")
+				.append(responseType.equals("Void") ? "void" : responseType).append(" ")
+				.append(endpoint.getMethodName()).append("(").append(getMethodParameters(endpoint))
+				.append(") throws Exception {").append(CodeGenerator.NEWLINE);
+
+		if (StringUtils.isEmpty(jpaImplementation)) {
+			methods.append(CodeGenerator.INDENT2).append("// TODO: Build Business Logic Here")
+					.append(CodeGenerator.NEWLINE);
+			methods.append(CodeGenerator.INDENT2).append("return null;").append(CodeGenerator.NEWLINE);
+		} else {
+			methods.append(jpaImplementation);
+		}
+
+		methods.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+
+		generator.addCodeBlock(methods.toString());
+
+		final Table etagTable = getEtagTable(codeGenConfig, endpoint, responseType);
+
+		if (etagTable != null) {
+			createEtagMethod(endpoint, etagTable);
+		}
+
+		final Table sliceTable = getSliceTable(codeGenConfig, endpoint);
+
+		if (sliceTable != null && sliceTable.estimatedCount()) {
+			createEstimatedCountMethod(endpoint, sliceTable);
+		}
 	}
 
-	public GenerateService(final Api api, final CodeGenConfig codeGenConfig) {
+	public GenerateService(final ApiModel api, final CodeGenConfig codeGenConfig) {
 		this.api = api;
 		this.jpaConfig = codeGenConfig.getExternalConfig().getJpaConfig();
+		this.cacheConfig = codeGenConfig.getExternalConfig().getCacheConfig();
+		this.codeGenConfig = codeGenConfig;
 		this.basePackage = codeGenConfig.getBasePackage();
-		final String apiTitle = api.title().value().replaceAll(" ", "");
+		this.entityMappingIndex = codeGenConfig.getEntityMappingIndex();
+		final String apiTitle = api.getTitle().replaceAll(" ", "");
 
 		generator = new CodeGenerator(codeGenConfig, "service", Arrays.asList("@Service"), false, apiTitle + "Service",
 				null, null, false);
+		generator.setOrigin("RAML API " + api.getTitle());
 		generator.addImport("org.springframework.stereotype.Service");
 
+		if (cacheConfig != null) {
+			cacheConfig.getCaches().stream().filter(cache -> cache.getTableName() != null)
+					.forEach(cache -> cachesByTable.putIfAbsent(cache.getTableName(), cache));
+		}
+
 		if (jpaConfig != null && jpaConfig.getTables() != null) {
 			codeGenConfig.getExternalConfig().getJpaConfig().getTables().stream().forEach(table -> {
-				final StringBuffer autowire = new StringBuffer();
+				final StringBuilder autowire = new StringBuilder();
 				final String repository = GeneratorUtil.getTitleCase(table.getTableName(), "_") + "Repository";
 
 				autowire.append(CodeGenerator.INDENT1).append("@Autowired").append(CodeGenerator.NEWLINE);
@@ -232,7 +512,19 @@ public class GenerateService {
 	}
 
 	public void create() {
-		api.resources().stream().forEach(resource -> createResourceMethods(resource));
+		if (api.getEndpoints().stream().anyMatch(endpoint -> getStreamTable(codeGenConfig, endpoint) != null)) {
+			final StringBuilder entityManager = new StringBuilder();
+
+			entityManager.append(CodeGenerator.INDENT1).append("@PersistenceContext").append(CodeGenerator.NEWLINE);
+			entityManager.append(CodeGenerator.INDENT1).append("private EntityManager entityManager;")
+					.append(CodeGenerator.NEWLINE);
+
+			generator.addCodeBlock(entityManager.toString());
+			generator.addImport("javax.persistence.EntityManager");
+			generator.addImport("javax.persistence.PersistenceContext");
+		}
+
+		api.getEndpoints().forEach(endpoint -> createEndpointMethod(endpoint));
 		generator.writeCode();
 	}
 }
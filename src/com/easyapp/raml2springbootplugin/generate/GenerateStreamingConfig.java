@@ -0,0 +1,48 @@
+package com.easyapp.raml2springbootplugin.generate;
+
+import java.util.Arrays;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.StreamingConfig;
+import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
+
+public class GenerateStreamingConfig {
+	private final CodeGenConfig codeGenConfig;
+	private final StreamingConfig streamingConfig;
+
+	public GenerateStreamingConfig(final CodeGenConfig codeGenConfig) {
+		this.codeGenConfig = codeGenConfig;
+		this.streamingConfig = codeGenConfig.getExternalConfig().getStreamingConfig();
+	}
+
+	public void create() throws Exception {
+		GeneratorUtil.createTemplateClass(codeGenConfig, codeGenConfig.getBasePackage() + ".streaming",
+				"JsonArrayStream");
+
+		// Streamed responses are written asynchronously, so long streams need more than the container's async timeout
+		if (streamingConfig.getTimeout() == null) {
+			return;
+		}
+
+		final CodeGenerator generator = new CodeGenerator(codeGenConfig, "config", Arrays.asList("@Configuration"),
+				false, "StreamingConfiguration", "WebMvcConfigurerAdapter", null, false);
+		generator.setOrigin("streamingConfig");
+
+		generator.addImport("org.springframework.context.annotation.Configuration");
+		generator.addImport("org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer");
+		generator.addImport("org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter");
+
+		final StringBuilder asyncSupport = new StringBuilder();
+
+		asyncSupport.append(CodeGenerator.INDENT1).append("@Override").append(CodeGenerator.NEWLINE);
+		asyncSupport.append(CodeGenerator.INDENT1)
+				.append("public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {")
+				.append(CodeGenerator.NEWLINE);
+		asyncSupport.append(CodeGenerator.INDENT2).append("configurer.setDefaultTimeout(")
+				.append(streamingConfig.getTimeout()).append("L);").append(CodeGenerator.NEWLINE);
+		asyncSupport.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
+
+		generator.addCodeBlock(asyncSupport.toString());
+		generator.writeCode();
+	}
+}
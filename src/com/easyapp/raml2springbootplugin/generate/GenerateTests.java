@@ -9,20 +9,20 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.raml.v2.api.model.v10.api.Api;
-import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
-import org.raml.v2.api.model.v10.methods.Method;
-import org.raml.v2.api.model.v10.resources.Resource;
-
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.util.ApiModel;
+import com.easyapp.raml2springbootplugin.generate.util.EndpointDefinition;
 import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
+import com.easyapp.raml2springbootplugin.generate.util.ResourceDefinition;
+import com.easyapp.raml2springbootplugin.generate.util.TypeDefinition;
 
 public class GenerateTests {
-	private final Api api;
+	private final ApiModel api;
+	private final String basePackage;
 	private final CodeGenerator generator;
 	private final Set<String> memberVariables = new HashSet<>();
-	private final StringBuffer members = new StringBuffer();
-	private final StringBuffer methods = new StringBuffer();
+	private final StringBuilder members = new StringBuilder();
+	private final StringBuilder methods = new StringBuilder();
 
 	private String getHttpMethod(final String method) {
 		if ("get".equalsIgnoreCase(method)) {
@@ -44,7 +44,7 @@ public class GenerateTests {
 		}
 	}
 
-	private List<String> getPathVariables(final List<TypeDeclaration> uriParameters) {
+	private List<String> getPathVariables(final List<TypeDefinition> uriParameters) {
 		if (uriParameters.isEmpty()) {
 			return new ArrayList<>();
 		} else {
@@ -56,11 +56,11 @@ public class GenerateTests {
 		}
 	}
 
-	private List<String> getRequestParameters(final Method method) {
-		if (method.queryParameters().isEmpty()) {
+	private List<String> getRequestParameters(final EndpointDefinition endpoint) {
+		if (endpoint.getQueryParameters().isEmpty()) {
 			return new ArrayList<>();
 		} else {
-			return method.queryParameters().stream()
+			return endpoint.getQueryParameters().stream()
 					.map(queryParam -> generator.getJavaType(GeneratorUtil.getMemberType(queryParam),
 							CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false) + " "
 							+ GeneratorUtil.getMemberName(queryParam))
@@ -68,13 +68,13 @@ public class GenerateTests {
 		}
 	}
 
-	private Map<String, List<String>> getVariables(final Method method) {
+	private Map<String, List<String>> getVariables(final EndpointDefinition endpoint) {
 		final Map<String, List<String>> variables = new HashMap<>();
-		final List<String> headerVariables = getPathVariables(GeneratorUtil.getHeaders(method));
-		final List<String> pathVariables = getPathVariables(GeneratorUtil.getURIParameters(method.resource()));
+		final List<String> headerVariables = getPathVariables(endpoint.getHeaders());
+		final List<String> pathVariables = getPathVariables(endpoint.getUriParameters());
 
 		final Map<String, List<String>> requestParams = new HashMap<>();
-		requestParams.put("query", getRequestParameters(method));
+		requestParams.put("query", getRequestParameters(endpoint));
 
 		if (!headerVariables.isEmpty()) {
 			variables.put("header", headerVariables);
@@ -84,12 +84,9 @@ public class GenerateTests {
 			variables.put("uri", pathVariables);
 		}
 
-		if (("post").equals(method.method()) || ("put").equals(method.method()) || ("patch").equals(method.method())) {
-			variables.put("body",
-					Arrays.asList(generator.getJavaType(
-							method.body().isEmpty() ? "string" : GeneratorUtil.getMemberType(method.body().get(0)),
-							CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false) + " "
-							+ GeneratorUtil.getRequestBodyVariableName(method)));
+		if (endpoint.hasRequestBody()) {
+			variables.put("body", Arrays.asList(generator.getJavaType(endpoint.getRequestBodyType(),
+					CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false) + " " + endpoint.getRequestBodyVariableName()));
 		}
 
 		if (!requestParams.get("query").isEmpty()) {
@@ -103,13 +100,15 @@ public class GenerateTests {
 		return variables;
 	}
 
-	public GenerateTests(final Api api, final CodeGenConfig codeGenConfig) {
+	public GenerateTests(final ApiModel api, final CodeGenConfig codeGenConfig) {
 		this.api = api;
-		final String apiTitle = api.title().value().replaceAll(" ", "");
+		this.basePackage = codeGenConfig.getBasePackage();
+		final String apiTitle = api.getTitle().replaceAll(" ", "");
 		generator = new CodeGenerator(codeGenConfig, null,
 				Arrays.asList("@RunWith(SpringRunner.class)",
 						"@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)"),
 				false, apiTitle + "Tests", null, null, true);
+		generator.setOrigin("RAML API " + api.getTitle());
 		generator.addImport("org.junit.runner.RunWith");
 		generator.addImport("org.springframework.test.context.junit4.SpringRunner");
 		generator.addImport("org.springframework.boot.test.context.SpringBootTest");
@@ -144,14 +143,23 @@ public class GenerateTests {
 		generator.addImport("org.junit.Before");
 	}
 
-	private void createResourceMethods(final Resource resource) {
-		final String resourceEndPointVariable = resource.displayName().value() + "EndPoint";
+	private static String getResourceEndPointVariable(final ResourceDefinition resource) {
+		return resource.getDisplayName() + "EndPoint";
+	}
 
+	private void createResourceMembers(final ResourceDefinition resource) {
 		members.append(CodeGenerator.NEWLINE).append(CodeGenerator.INDENT1).append("private final String ")
-				.append(resourceEndPointVariable).append(" = \"").append(resource.resourcePath()).append("\";");
+				.append(getResourceEndPointVariable(resource)).append(" = \"").append(resource.getResourcePath())
+				.append("\";");
+
+		api.getEndpoints(resource).forEach(this::getVariables);
+	}
 
-		resource.methods().stream().forEach(method -> {
-			final Map<String, List<String>> methodVariables = getVariables(method);
+	private void createResourceMethods(final ResourceDefinition resource) {
+		final String resourceEndPointVariable = getResourceEndPointVariable(resource);
+
+		api.getEndpoints(resource).forEach(endpoint -> {
+			final Map<String, List<String>> methodVariables = getVariables(endpoint);
 			final List<String> headerVariables = !methodVariables.containsKey("header")
 					|| methodVariables.get("header").isEmpty() ? null
 							: methodVariables.get("header").stream().map(variable -> variable.split(" ")[1])
@@ -162,16 +170,22 @@ public class GenerateTests {
 							.collect(Collectors.joining(", "));
 			final String bodyVariable = !methodVariables.containsKey("body") || methodVariables.get("body").isEmpty()
 					? null : methodVariables.get("body").get(0).split(" ")[1];
-			final boolean pageType = method.is().stream().anyMatch(trait -> trait.name().equals("Paginated"));
-			final String responseType = generator.getJavaType(method.responses().stream()
-					.filter(response -> response.code().value().startsWith("2"))
-					.map(response -> GeneratorUtil.getMemberType(response.body().get(0))).findFirst().orElse("string"),
-					CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, pageType);
-
-			method.responses().stream().forEach(response -> {
-				final String methodName = "test" + GeneratorUtil.getTitleCaseFromCamelCase(method.method())
-						+ GeneratorUtil.getTitleCaseFromCamelCase(resource.displayName().value())
-						+ response.code().value();
+			final String responseType;
+
+			if (endpoint.isSliceType()) {
+				responseType = "SliceResponse<"
+						+ generator.getJavaType(endpoint.getResponseType().replaceAll("\\[\\]", ""),
+								CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, false)
+						+ ">";
+				generator.addImport(basePackage + ".pagination.SliceResponse");
+			} else {
+				responseType = generator.getJavaType(endpoint.getResponseType(),
+						CodeGenerator.DEFAULT_TRANSPORT_PACKAGE, endpoint.isPageType());
+			}
+
+			endpoint.getResponseCodes().forEach(responseCode -> {
+				final String methodName = "test" + GeneratorUtil.getTitleCaseFromCamelCase(endpoint.getMethod())
+						+ GeneratorUtil.getTitleCaseFromCamelCase(resource.getDisplayName()) + responseCode;
 
 				methods.append(CodeGenerator.NEWLINE).append(CodeGenerator.INDENT1).append("@Test")
 						.append(CodeGenerator.NEWLINE);
@@ -206,7 +220,7 @@ public class GenerateTests {
 				methods.append(CodeGenerator.NEWLINE).append(CodeGenerator.INDENT2).append("final ResponseEntity<")
 						.append(responseType)
 						.append("> response = restTemplate.exchange(uriBuilder.build().encode().toUriString(), ")
-						.append(getHttpMethod(method.method())).append(", ");
+						.append(getHttpMethod(endpoint.getMethod())).append(", ");
 
 				if (bodyVariable == null && headerVariables == null) {
 					methods.append("null, ");
@@ -236,7 +250,7 @@ public class GenerateTests {
 				methods.append(");").append(CodeGenerator.NEWLINE);
 
 				methods.append(CodeGenerator.INDENT2).append("assertThat(response.getStatusCode().value(), equalTo(")
-						.append(response.code().value()).append("));").append(CodeGenerator.NEWLINE);
+						.append(responseCode).append("));").append(CodeGenerator.NEWLINE);
 				methods.append(CodeGenerator.INDENT2).append("// TODO: Additional Tests").append(CodeGenerator.NEWLINE);
 				methods.append(CodeGenerator.INDENT1).append("}").append(CodeGenerator.NEWLINE);
 
@@ -246,14 +260,17 @@ public class GenerateTests {
 				generator.addImport("org.springframework.http.HttpMethod");
 				generator.addImport("static org.junit.Assert.assertThat");
 				generator.addImport("static org.hamcrest.CoreMatchers.equalTo");
+
+				generator.markOrigin(endpoint.getOrigin() + " response " + responseCode);
+				generator.appendToCodeBlock(methods.toString());
+				methods.setLength(0);
 			});
 		});
-
-		resource.resources().stream().forEach(subResource -> createResourceMethods(subResource));
 	}
 
 	public void create() {
-		api.resources().stream().forEach(resource -> createResourceMethods(resource));
+		// The members come before the test methods, so they are collected first and the methods are then streamed
+		api.getResources().forEach(resource -> createResourceMembers(resource));
 
 		memberVariables.stream().forEach(memberVariable -> {
 			members.append(CodeGenerator.NEWLINE).append(CodeGenerator.INDENT1).append("private ")
@@ -262,6 +279,9 @@ public class GenerateTests {
 
 		generator.addCodeBlock(members.toString());
 		generator.addCodeBlock(methods.toString());
+		methods.setLength(0);
+
+		api.getResources().forEach(resource -> createResourceMethods(resource));
 		generator.writeCode();
 	}
 }
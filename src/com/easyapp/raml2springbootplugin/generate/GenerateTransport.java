@@ -1,45 +1,29 @@
 package com.easyapp.raml2springbootplugin.generate;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-
-import org.raml.v2.api.model.v10.api.Api;
-import org.raml.v2.api.model.v10.resources.Resource;
+import java.util.Map;
 
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.util.ApiModel;
 import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
 import com.easyapp.raml2springbootplugin.generate.util.TransportDefinition;
 
 public class GenerateTransport {
-	final Api api;
 	final CodeGenConfig codeGenConfig;
-	final List<TransportDefinition> transportTypes = new ArrayList<>();
-
-	private void getTransportTypes(final Resource resource) {
-		resource.methods().stream().forEach(method -> {
-			method.body().stream().filter(body -> !body.type().contains("-"))
-					.filter(body -> !GeneratorUtil.isScalarRAMLType(body.type()))
-					.forEach(body -> GeneratorUtil.addToMap(transportTypes, body, null));
-
-			method.responses().stream().forEach(response -> {
-				response.body().stream().filter(body -> !body.type().contains("-"))
-						.filter(body -> !GeneratorUtil.isScalarRAMLType(body.type()))
-						.forEach(body -> GeneratorUtil.addToMap(transportTypes, body, response.code().value()));
-			});
-		});
-
-		resource.resources().stream().forEach(subResource -> getTransportTypes(subResource));
-	}
+	final Map<String, TransportDefinition> transportTypes;
 
 	private void generateTransport() {
-		transportTypes.forEach(transportType -> {
+		transportTypes.values().parallelStream().forEach(transportType -> {
 			final List<String> annotations = transportType.getExtendsFrom() == null ? Arrays.asList("@Data")
 					: Arrays.asList("@RequiredArgsConstructor", "@Getter", "@Setter", "@ToString(callSuper = true)",
 							"@EqualsAndHashCode(callSuper = true)");
 			final CodeGenerator generator = new CodeGenerator(codeGenConfig, transportType.getPackageName(),
 					annotations, false, transportType.getClassName(), transportType.getExtendsFrom(),
 					Arrays.asList("Serializable"), false);
+			final String ramlType = transportType.getType() == null || "object".equals(transportType.getType())
+					? transportType.getClassName() : transportType.getType();
+			generator.setOrigin("RAML type " + ramlType);
 
 			if (transportType.getExtendsFrom() == null) {
 				generator.addImport("lombok.Data");
@@ -53,7 +37,7 @@ public class GenerateTransport {
 
 			generator.addImport("java.io.Serializable");
 
-			final StringBuffer blocks = new StringBuffer();
+			final StringBuilder blocks = new StringBuilder();
 			blocks.append(CodeGenerator.INDENT1).append("private static final long serialVersionUID = 1L;")
 					.append(CodeGenerator.NEWLINE);
 			generator.addCodeBlock(blocks.toString());
@@ -63,15 +47,12 @@ public class GenerateTransport {
 		});
 	}
 
-	public GenerateTransport(final Api api, final CodeGenConfig codeGenConfig) {
-		this.api = api;
+	public GenerateTransport(final ApiModel api, final CodeGenConfig codeGenConfig) {
 		this.codeGenConfig = codeGenConfig;
+		this.transportTypes = api.getTransportTypes();
 	}
 
 	public void create() throws Exception {
-		GeneratorUtil.addMavenDependency(codeGenConfig, "org.projectlombok", "lombok", null, "provided");
-
-		api.resources().stream().forEach(resource -> getTransportTypes(resource));
 		generateTransport();
 	}
 }
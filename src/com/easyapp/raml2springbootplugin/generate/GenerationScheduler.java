@@ -0,0 +1,91 @@
+package com.easyapp.raml2springbootplugin.generate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import com.easyapp.raml2springbootplugin.generate.util.GenerationMetrics;
+
+public class GenerationScheduler {
+	private static final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+	private final Map<String, PhaseTask> phases = new LinkedHashMap<>();
+	private final GenerationMetrics metrics;
+
+	@FunctionalInterface
+	public interface Phase {
+		void run() throws Exception;
+	}
+
+	private class PhaseTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final String name;
+		private final Phase phase;
+		private final List<String> dependsOn;
+
+		private PhaseTask(final String name, final Phase phase, final List<String> dependsOn) {
+			this.name = name;
+			this.phase = phase;
+			this.dependsOn = dependsOn;
+		}
+
+		@Override
+		protected void compute() {
+			dependsOn.forEach(dependency -> phases.get(dependency).join());
+
+			try {
+				metrics.time(name, phase::run);
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new RuntimeException("Generation phase " + name + " failed", e);
+			}
+		}
+	}
+
+	public GenerationScheduler(final GenerationMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public GenerationScheduler addPhase(final String name, final Phase phase, final String... dependsOn) {
+		if (phases.containsKey(name)) {
+			throw new IllegalArgumentException("Generation phase " + name + " is already scheduled");
+		}
+
+		// Dependencies have to be scheduled first, which keeps the phase graph acyclic
+		Arrays.stream(dependsOn).filter(dependency -> !phases.containsKey(dependency)).findAny()
+				.ifPresent(dependency -> {
+					throw new IllegalArgumentException(
+							"Generation phase " + name + " depends on unscheduled phase " + dependency);
+				});
+
+		phases.put(name, new PhaseTask(name, phase, Arrays.asList(dependsOn)));
+
+		return this;
+	}
+
+	public void run() throws Exception {
+		try {
+			pool.submit(() -> {
+				phases.values().forEach(ForkJoinTask::fork);
+				// Every phase is finished before a failure is reported, so none still stages output afterwards
+				phases.values().forEach(ForkJoinTask::quietlyJoin);
+				phases.values().forEach(ForkJoinTask::join);
+			}).get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+
+			while (cause instanceof RuntimeException && cause.getCause() instanceof Exception) {
+				cause = cause.getCause();
+			}
+
+			throw cause instanceof Exception ? (Exception) cause : e;
+		}
+	}
+}
@@ -1,60 +1,150 @@
 package com.easyapp.raml2springbootplugin.generate;
 
-import java.nio.file.Paths;
-import java.util.stream.Collectors;
-
-import org.raml.v2.api.RamlModelBuilder;
-import org.raml.v2.api.RamlModelResult;
-import org.raml.v2.api.model.v10.api.Api;
+import java.util.Optional;
 
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.util.ApiDefinition;
+import com.easyapp.raml2springbootplugin.generate.util.ApiModel;
+import com.easyapp.raml2springbootplugin.generate.util.BuildCache;
+import com.easyapp.raml2springbootplugin.generate.util.CompileVerifier;
+import com.easyapp.raml2springbootplugin.generate.util.EndpointDefinition;
+import com.easyapp.raml2springbootplugin.generate.util.GenerationMetrics;
 import com.easyapp.raml2springbootplugin.generate.util.GeneratorUtil;
+import com.easyapp.raml2springbootplugin.generate.util.RamlModelCache;
 
 public class RAML2SpringBoot {
 	public static void generate(final CodeGenConfig codeGenConfig) throws Exception {
-		final RamlModelResult ramlModelResult = new RamlModelBuilder()
-				.buildApi(Paths.get(codeGenConfig.getRamlFilePath()).toFile());
+		final GenerationMetrics metrics = codeGenConfig.getMetrics();
+		boolean successful = false;
+
+		try {
+			final BuildCache buildCache = codeGenConfig.getBuildCache();
+			final String cacheKey = buildCache == null ? null
+					: metrics.time("build-cache-key", () -> BuildCache.getKey(codeGenConfig));
+
+			try {
+				final boolean restored = cacheKey != null
+						&& metrics.time("build-cache-restore", () -> buildCache.restore(cacheKey, codeGenConfig));
+				final BuildCache.Recorder recorder = restored || cacheKey == null ? null
+						: buildCache.startRecording(cacheKey, codeGenConfig);
+
+				if (!restored) {
+					if (recorder != null) {
+						codeGenConfig.getManifest().setRecorder(recorder);
+					}
+
+					final ApiDefinition apiDefinition = metrics.time("raml-model", () -> RamlModelCache
+							.getApi(codeGenConfig.getProjectDirectory(), codeGenConfig.getRamlFilePath()));
+					final ApiModel api = metrics.time("api-model",
+							() -> new ApiModel(apiDefinition, codeGenConfig.getExternalConfig().keysetPagination()));
+
+					generate(api, codeGenConfig);
+					codeGenConfig.getPomSession().flush();
+
+					// Broken code fails the run before anything is committed
+					if (codeGenConfig.getExternalConfig().verifyCompilation()) {
+						metrics.time("compile-verification", () -> CompileVerifier.verify(codeGenConfig));
+					}
+				}
 
-		if (ramlModelResult.hasErrors()) {
-			throw new Exception(ramlModelResult.getValidationResults().stream().map(result -> result.getMessage())
-					.collect(Collectors.joining("\n")));
+				metrics.time("commit", () -> codeGenConfig.getManifest().commit());
+
+				if (recorder != null) {
+					metrics.time("build-cache-save", () -> {
+						codeGenConfig.getManifest().setRecorder(null);
+						recorder.save();
+					});
+				}
+			} finally {
+				// A failed run leaves the project as it was
+				codeGenConfig.getManifest().discard();
+
+				metrics.time("manifest-save", () -> codeGenConfig.getManifest().save());
+			}
+
+			successful = true;
+		} finally {
+			metrics.writeReport(codeGenConfig.getRamlFilePath(), successful);
 		}
+	}
 
-		final Api api = ramlModelResult.getApiV10();
+	private static void generate(final ApiModel api, final CodeGenConfig codeGenConfig) throws Exception {
+		// A slice is read a page at a time from a list, so a Sliced method has to return an array
+		final Optional<EndpointDefinition> unsliceable = api.getEndpoints().stream()
+				.filter(endpoint -> endpoint.isSliceType() && !endpoint.getResponseType().endsWith("[]")).findFirst();
 
-		GeneratorUtil.initialize();
-		GeneratorUtil.validateAndUpdateMavenDependency(codeGenConfig);
+		if (unsliceable.isPresent()) {
+			throw new Exception(unsliceable.get().getOrigin() + " is Sliced but does not return an array");
+		}
+
+		codeGenConfig.getPomSession().replaceDependency("spring-boot-starter", "spring-boot-starter-web");
 
 		if (codeGenConfig.getExternalConfig().generateHealthCheck()) {
-			GeneratorUtil.addMavenDependency(codeGenConfig, "org.springframework.boot", "spring-boot-starter-actuator",
+			codeGenConfig.getPomSession().addDependency("org.springframework.boot", "spring-boot-starter-actuator",
 					null, null);
 		}
 
 		if (codeGenConfig.getExternalConfig().dockerize()) {
-			GenerateDocker docker = new GenerateDocker(codeGenConfig);
-			docker.create();
+			codeGenConfig.getMetrics().time("docker", () -> new GenerateDocker(codeGenConfig).create());
+		}
+
+		// Added before the phases run so that concurrent phases never change the order of pom dependencies
+		codeGenConfig.getPomSession().addDependency("org.projectlombok", "lombok", null, "provided");
+
+		if (codeGenConfig.getExternalConfig().hasCacheConfig()) {
+			codeGenConfig.getPomSession().addDependency("org.springframework.boot", "spring-boot-starter-cache", null,
+					null);
+			codeGenConfig.getPomSession().addDependency("com.github.ben-manes.caffeine", "caffeine", null, null);
 		}
 
-		GenerateExceptions exceptions = new GenerateExceptions(api, codeGenConfig);
-		exceptions.create();
+		final GenerationScheduler scheduler = new GenerationScheduler(codeGenConfig.getMetrics());
 
-		GenerateTransport transport = new GenerateTransport(api, codeGenConfig);
-		transport.create();
+		scheduler.addPhase("exceptions", () -> new GenerateExceptions(api, codeGenConfig).create());
+		scheduler.addPhase("transport", () -> new GenerateTransport(api, codeGenConfig).create());
 
 		if (codeGenConfig.getExternalConfig().hasJpaConfig()) {
-			GenerateJPA jpa = new GenerateJPA(api, codeGenConfig);
-			jpa.create();
+			scheduler.addPhase("jpa", () -> new GenerateJPA(api, codeGenConfig).create(), "transport");
+		}
+
+		scheduler.addPhase("service", () -> new GenerateService(api, codeGenConfig).create());
+
+		if (codeGenConfig.getExternalConfig().hasCacheConfig()) {
+			scheduler.addPhase("cache", () -> new GenerateCacheConfig(codeGenConfig).create());
+		}
+
+		final boolean slicePagination = api.getEndpoints().stream().anyMatch(EndpointDefinition::isSliceType);
+
+		if (codeGenConfig.getExternalConfig().keysetPagination() || slicePagination) {
+			scheduler.addPhase("pagination", () -> {
+				final String packageName = codeGenConfig.getBasePackage() + ".pagination";
+
+				if (codeGenConfig.getExternalConfig().keysetPagination()) {
+					GeneratorUtil.createTemplateClass(codeGenConfig, packageName, "Cursor");
+					GeneratorUtil.createTemplateClass(codeGenConfig, packageName, "KeysetPage");
+					GeneratorUtil.createTemplateClass(codeGenConfig, packageName, "InvalidPageRequestException");
+				}
+
+				if (slicePagination) {
+					GeneratorUtil.createTemplateClass(codeGenConfig, packageName, "SliceResponse");
+				}
+			});
 		}
 
-		GenerateService service = new GenerateService(api, codeGenConfig);
-		service.create();
+		if (codeGenConfig.getExternalConfig().hasStreamingConfig()) {
+			scheduler.addPhase("streaming", () -> new GenerateStreamingConfig(codeGenConfig).create());
+		}
 
-		GenerateRestController restController = new GenerateRestController(api, codeGenConfig);
-		restController.create();
+		if (codeGenConfig.getExternalConfig().hasHttpCacheConfig()
+				&& codeGenConfig.getExternalConfig().getHttpCacheConfig().generateEtags()) {
+			scheduler.addPhase("httpCache", () -> new GenerateHttpCacheConfig(codeGenConfig).create());
+		}
+
+		scheduler.addPhase("restController", () -> new GenerateRestController(api, codeGenConfig).create());
 
 		if (codeGenConfig.getExternalConfig().generateTests()) {
-			GenerateTests tests = new GenerateTests(api, codeGenConfig);
-			tests.create();
+			scheduler.addPhase("tests", () -> new GenerateTests(api, codeGenConfig).create());
 		}
+
+		scheduler.run();
 	}
 }
@@ -0,0 +1,34 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ApiDefinition implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final String title;
+	private final List<String> mediaTypes;
+	private final List<ResourceDefinition> resources = new ArrayList<>();
+
+	public ApiDefinition(final String title, final List<String> mediaTypes) {
+		this.title = title;
+		this.mediaTypes = mediaTypes;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public List<String> getMediaTypes() {
+		return mediaTypes;
+	}
+
+	public List<ResourceDefinition> getResources() {
+		return resources;
+	}
+
+	public void addResource(final ResourceDefinition resource) {
+		resources.add(resource);
+	}
+}
@@ -0,0 +1,129 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ApiModel {
+	private final String title;
+	private final List<String> mediaTypes;
+	private final List<ResourceDefinition> resources = new ArrayList<>();
+	private final List<EndpointDefinition> endpoints = new ArrayList<>();
+	private final Map<ResourceDefinition, List<EndpointDefinition>> resourceEndpoints = new HashMap<>();
+	private final Set<String> errorResponseCodes = new LinkedHashSet<>();
+	private final Map<String, TransportDefinition> transportTypes = new LinkedHashMap<>();
+	private final Map<String, TransportDefinition> responseTransportTypes = new LinkedHashMap<>();
+	private final boolean keysetPagination;
+
+	private void addTransportTypes(final List<TypeDefinition> body, final String responseCode) {
+		body.stream().filter(type -> !type.getType().contains("-"))
+				.filter(type -> !GeneratorUtil.isScalarRAMLType(type.getType())).forEach(type -> {
+					GeneratorUtil.addToMap(transportTypes, type, responseCode);
+
+					if (responseCode != null && responseCode.startsWith("2")) {
+						GeneratorUtil.addToMap(responseTransportTypes, type, responseCode);
+					}
+				});
+	}
+
+	// Keyset pagination reads pages after or before an opaque cursor instead of a Pageable
+	private List<TypeDefinition> getQueryParameters(final MethodDefinition method) {
+		if (!keysetPagination || !method.getTraits().contains("Paginated")) {
+			return method.getQueryParameters();
+		}
+
+		final List<TypeDefinition> queryParameters = method.getQueryParameters().stream()
+				.filter(queryParam -> !GeneratorUtil.getMemberType(queryParam).endsWith("Pageable"))
+				.collect(Collectors.toCollection(ArrayList::new));
+
+		queryParameters.add(new TypeDefinition("cursor", "string", null, "cursor", false, null, false, null, null));
+		queryParameters.add(new TypeDefinition("size", "integer", null, "size", false, "20", false, null, null));
+
+		return queryParameters;
+	}
+
+	private void addResource(final ResourceDefinition resource) {
+		final List<TypeDefinition> uriParameters = GeneratorUtil.getURIParameters(resource);
+		final List<EndpointDefinition> methodEndpoints = new ArrayList<>();
+
+		resources.add(resource);
+		resourceEndpoints.put(resource, methodEndpoints);
+
+		resource.getMethods().forEach(method -> {
+			final Map<String, String> errorResponseTypes = new LinkedHashMap<>();
+
+			addTransportTypes(method.getBody(), null);
+
+			method.getResponses().forEach(response -> {
+				addTransportTypes(response.getBody(), response.getCode());
+
+				if (!response.getCode().startsWith("2")) {
+					errorResponseCodes.add(response.getCode());
+					errorResponseTypes.put(response.getCode(),
+							GeneratorUtil.getMemberType(response.getBody().get(0)));
+				}
+			});
+
+			final EndpointDefinition endpoint = new EndpointDefinition(resource, method.getMethod(),
+					GeneratorUtil.getHeaders(method), uriParameters, getQueryParameters(method),
+					method.getBody().isEmpty() ? "string" : GeneratorUtil.getMemberType(method.getBody().get(0)),
+					GeneratorUtil.getRequestBodyVariableName(method), method.getTraits().contains("Paginated"),
+					method.getTraits().contains("Sliced"),
+					method.getResponses().stream().filter(response -> response.getCode().startsWith("2"))
+							.map(response -> GeneratorUtil.getMemberType(response.getBody().get(0))).findFirst()
+							.orElse("string"),
+					method.getResponses().stream().map(ResponseDefinition::getCode).collect(Collectors.toList()),
+					errorResponseTypes, method.getAnnotations());
+
+			endpoints.add(endpoint);
+			methodEndpoints.add(endpoint);
+		});
+
+		resource.getResources().forEach(this::addResource);
+	}
+
+	public ApiModel(final ApiDefinition api, final boolean keysetPagination) {
+		this.title = api.getTitle();
+		this.keysetPagination = keysetPagination;
+		this.mediaTypes = api.getMediaTypes();
+
+		api.getResources().forEach(this::addResource);
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public List<String> getMediaTypes() {
+		return mediaTypes;
+	}
+
+	public List<ResourceDefinition> getResources() {
+		return resources;
+	}
+
+	public List<EndpointDefinition> getEndpoints() {
+		return endpoints;
+	}
+
+	public List<EndpointDefinition> getEndpoints(final ResourceDefinition resource) {
+		return resourceEndpoints.get(resource);
+	}
+
+	public Set<String> getErrorResponseCodes() {
+		return errorResponseCodes;
+	}
+
+	public Map<String, TransportDefinition> getTransportTypes() {
+		return transportTypes;
+	}
+
+	public Map<String, TransportDefinition> getResponseTransportTypes() {
+		return responseTransportTypes;
+	}
+}
@@ -0,0 +1,248 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig;
+import com.easyapp.raml2springbootplugin.generate.CodeGenerator;
+
+public class BuildCache {
+	private static final int CACHE_VERSION = 1;
+	private static final String APPLICATION_PROPERTIES_PATH = "src/main/resources/application.properties";
+
+	private static String generatorVersion = null;
+
+	private final Path cacheDirectory;
+
+	public class Recorder {
+		private final Path projectDirectory;
+		private final String cacheKey;
+		private final Map<String, String> artifacts = new ConcurrentSkipListMap<>();
+		private volatile boolean cacheable = true;
+
+		private Recorder(final Path projectDirectory, final String cacheKey) {
+			this.projectDirectory = projectDirectory;
+			this.cacheKey = cacheKey;
+		}
+
+		private String getKey(final Path artifactPath) {
+			final Path absolutePath = artifactPath.toAbsolutePath().normalize();
+
+			return absolutePath.startsWith(projectDirectory)
+					? projectDirectory.relativize(absolutePath).toString().replace('\\', '/')
+					: null;
+		}
+
+		private void add(final Path artifactPath, final String contentHash, final boolean overwriteFiles,
+				final Path objectSource, final byte[] content) {
+			final String key = getKey(artifactPath);
+
+			// An artifact outside of the project could not be restored into another checkout
+			if (key == null || !cacheable) {
+				cacheable = false;
+				return;
+			}
+
+			try {
+				final Path objectFile = getObjectFile(contentHash);
+
+				if (!Files.exists(objectFile)) {
+					Files.createDirectories(objectFile.getParent());
+					final Path temporaryFile = objectFile.resolveSibling(UUID.randomUUID() + ".tmp");
+
+					if (content == null) {
+						Files.copy(objectSource, temporaryFile);
+					} else {
+						Files.write(temporaryFile, content);
+					}
+
+					move(temporaryFile, objectFile);
+				}
+
+				artifacts.put(key, contentHash + " " + overwriteFiles);
+			} catch (IOException e) {
+				// A cache that cannot be written to only means the next run generates again
+				cacheable = false;
+				e.printStackTrace();
+			}
+		}
+
+		public void add(final Path artifactPath, final String contentHash, final byte[] content,
+				final boolean overwriteFiles) {
+			add(artifactPath, contentHash, overwriteFiles, null, content);
+		}
+
+		public void add(final Path artifactPath, final String contentHash, final Path contentFile,
+				final boolean overwriteFiles) {
+			add(artifactPath, contentHash, overwriteFiles, contentFile, null);
+		}
+
+		// Only called once the run was committed, so a failed run never ends up in the cache
+		public void save() {
+			if (!cacheable) {
+				return;
+			}
+
+			final StringBuilder entry = new StringBuilder();
+
+			for (final Map.Entry<String, String> artifact : artifacts.entrySet()) {
+				entry.append(artifact.getValue()).append(" ").append(artifact.getKey()).append("\n");
+			}
+
+			try {
+				final Path entryFile = getEntryFile(cacheKey);
+				final Path temporaryFile = entryFile.resolveSibling(UUID.randomUUID() + ".tmp");
+
+				Files.createDirectories(entryFile.getParent());
+				Files.write(temporaryFile, entry.toString().getBytes(StandardCharsets.UTF_8));
+				move(temporaryFile, entryFile);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	public BuildCache(final Path cacheDirectory) {
+		this.cacheDirectory = cacheDirectory.toAbsolutePath().normalize();
+	}
+
+	private Path getObjectFile(final String contentHash) {
+		return cacheDirectory.resolve("objects").resolve(contentHash.substring(0, 2)).resolve(contentHash);
+	}
+
+	private Path getEntryFile(final String cacheKey) {
+		return cacheDirectory.resolve("entries").resolve(cacheKey);
+	}
+
+	private static void move(final Path source, final Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	// The jar (or class directory) the generator is loaded from, so that any change to the generator misses
+	public static synchronized String getGeneratorVersion() {
+		if (generatorVersion == null) {
+			try {
+				final Path codeSource = Paths
+						.get(BuildCache.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+				if (Files.isRegularFile(codeSource)) {
+					generatorVersion = GenerationManifest.hash(codeSource);
+				} else {
+					final StringBuilder classFiles = new StringBuilder();
+
+					try (final Stream<Path> files = Files.walk(codeSource)) {
+						for (final Path file : files.filter(Files::isRegularFile).sorted()
+								.collect(Collectors.toList())) {
+							classFiles.append(codeSource.relativize(file).toString().replace('\\', '/')).append(" ")
+									.append(GenerationManifest.hash(file)).append("\n");
+						}
+					}
+
+					generatorVersion = GenerationManifest.hash(classFiles.toString().getBytes(StandardCharsets.UTF_8));
+				}
+			} catch (Exception e) {
+				// Without a version the cache cannot tell generators apart, so it is not used
+				generatorVersion = "";
+			}
+		}
+
+		return generatorVersion.isEmpty() ? null : generatorVersion;
+	}
+
+	private static void appendFile(final StringBuilder key, final String name, final Path file) throws IOException {
+		key.append("\n").append(name).append(" ")
+				.append(file != null && Files.isRegularFile(file) ? GenerationManifest.hash(file) : "missing");
+	}
+
+	// Returns null when the output does not only depend on files, i.e. when JPA entities are introspected from the
+	// database instead of being read from a schema snapshot
+	public static String getKey(final CodeGenConfig codeGenConfig) throws Exception {
+		final String generatorVersion = getGeneratorVersion();
+
+		if (generatorVersion == null) {
+			return null;
+		}
+
+		final Path projectDirectory = Paths.get(codeGenConfig.getProjectDirectory()).toAbsolutePath().normalize();
+		final Path ramlFile = Paths.get(codeGenConfig.getRamlFilePath()).toAbsolutePath().normalize();
+		final StringBuilder key = new StringBuilder("cache-version:" + CACHE_VERSION);
+
+		key.append("\ngenerator ").append(generatorVersion);
+		key.append("\nraml ").append(projectDirectory.relativize(ramlFile).toString().replace('\\', '/')).append(" ")
+				.append(RamlModelCache.getCacheKey(ramlFile));
+		key.append("\nbase-package ").append(codeGenConfig.getBasePackage());
+		appendFile(key, "config", codeGenConfig.getConfigFilePath() == null ? null
+				: Paths.get(codeGenConfig.getConfigFilePath()));
+		appendFile(key, "application-properties", projectDirectory.resolve(APPLICATION_PROPERTIES_PATH));
+		appendFile(key, "pom", Paths.get(codeGenConfig.getPomFilePath()));
+
+		if (codeGenConfig.getExternalConfig().hasJpaConfig()) {
+			final JpaConfig jpaConfig = codeGenConfig.getExternalConfig().getJpaConfig();
+
+			if (jpaConfig.getSchemaSnapshot() == null || jpaConfig.refreshSchemaSnapshot()
+					|| !Files.isRegularFile(projectDirectory.resolve(jpaConfig.getSchemaSnapshot()))) {
+				return null;
+			}
+
+			appendFile(key, "schema", projectDirectory.resolve(jpaConfig.getSchemaSnapshot()));
+		}
+
+		return GenerationManifest.hash(key.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	public Recorder startRecording(final String cacheKey, final CodeGenConfig codeGenConfig) {
+		return new Recorder(Paths.get(codeGenConfig.getProjectDirectory()).toAbsolutePath().normalize(), cacheKey);
+	}
+
+	// Replays a cached run through the manifest, so unchanged files are skipped and the output is committed as usual
+	public boolean restore(final String cacheKey, final CodeGenConfig codeGenConfig) throws IOException {
+		final Path entryFile = getEntryFile(cacheKey);
+
+		if (!Files.isReadable(entryFile)) {
+			return false;
+		}
+
+		final List<String> artifacts = Files.readAllLines(entryFile, StandardCharsets.UTF_8).stream()
+				.filter(line -> line.split(" ", 3).length == 3).collect(Collectors.toList());
+
+		// An object pruned from a shared cache makes the whole entry unusable
+		if (artifacts.stream().anyMatch(artifact -> !Files.isRegularFile(getObjectFile(artifact.split(" ", 3)[0])))) {
+			return false;
+		}
+
+		final Path projectDirectory = Paths.get(codeGenConfig.getProjectDirectory());
+		final Path restoreDirectory = projectDirectory.resolve(CodeGenerator.SPILL_DIRECTORY);
+		Files.createDirectories(restoreDirectory);
+
+		artifacts.parallelStream().forEach(artifact -> {
+			final String[] values = artifact.split(" ", 3);
+			final Path artifactPath = projectDirectory.resolve(values[2]);
+			final Path contentFile = restoreDirectory.resolve(UUID.randomUUID() + "-" + artifactPath.getFileName());
+
+			try {
+				Files.copy(getObjectFile(values[0]), contentFile);
+				codeGenConfig.getManifest().writeArtifact(artifactPath, contentFile, Boolean.parseBoolean(values[1]));
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		return true;
+	}
+}
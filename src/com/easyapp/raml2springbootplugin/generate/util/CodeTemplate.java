@@ -0,0 +1,59 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class CodeTemplate {
+	private final String[] literals;
+	private final String[] placeholders;
+
+	private CodeTemplate(final List<String> literals, final List<String> placeholders) {
+		this.literals = literals.toArray(new String[literals.size()]);
+		this.placeholders = placeholders.toArray(new String[placeholders.size()]);
+	}
+
+	public static CodeTemplate compile(final List<String> lines, final String newline, final String... placeholders) {
+		final StringBuilder text = new StringBuilder();
+		lines.forEach(line -> text.append(line).append(newline));
+
+		final List<String> literals = new ArrayList<>();
+		final List<String> templatePlaceholders = new ArrayList<>();
+		int position = 0;
+
+		while (true) {
+			int nextPosition = -1;
+			String nextPlaceholder = null;
+
+			for (final String placeholder : placeholders) {
+				final int index = text.indexOf(placeholder, position);
+
+				if (index >= 0 && (nextPosition < 0 || index < nextPosition)) {
+					nextPosition = index;
+					nextPlaceholder = placeholder;
+				}
+			}
+
+			if (nextPlaceholder == null) {
+				literals.add(text.substring(position));
+				break;
+			}
+
+			literals.add(text.substring(position, nextPosition));
+			templatePlaceholders.add(nextPlaceholder);
+			position = nextPosition + nextPlaceholder.length();
+		}
+
+		return new CodeTemplate(literals, templatePlaceholders);
+	}
+
+	public StringBuilder render(final StringBuilder output, final Map<String, String> values) {
+		output.append(literals[0]);
+
+		for (int index = 0; index < placeholders.length; index++) {
+			output.append(values.get(placeholders[index])).append(literals[index + 1]);
+		}
+
+		return output;
+	}
+}
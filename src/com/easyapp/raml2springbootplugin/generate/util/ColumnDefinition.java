@@ -10,6 +10,8 @@ public class ColumnDefinition {
 	private final boolean autoIncrement;
 	private boolean isInPrimaryKey = false;
 	private int primaryKeyOrder = -1;
+	private String referencedTableName = null;
+	private String referencedColumnName = null;
 
 	public ColumnDefinition(final String columnName, final JDBCType dataType, final int columnOrder,
 			final boolean nullable, final boolean autoIncrement) {
@@ -52,4 +54,21 @@ public class ColumnDefinition {
 		this.isInPrimaryKey = true;
 		this.primaryKeyOrder = primaryKeyOrder;
 	}
+
+	public boolean isInForeignKey() {
+		return referencedTableName != null;
+	}
+
+	public String getReferencedTableName() {
+		return referencedTableName;
+	}
+
+	public String getReferencedColumnName() {
+		return referencedColumnName;
+	}
+
+	public void setForeignKey(final String referencedTableName, final String referencedColumnName) {
+		this.referencedTableName = referencedTableName;
+		this.referencedColumnName = referencedColumnName;
+	}
 }
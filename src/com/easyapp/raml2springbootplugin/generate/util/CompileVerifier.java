@@ -0,0 +1,281 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+
+public class CompileVerifier {
+	public static final String CLASSPATH_PATH = "target/raml2springboot/classpath";
+	public static final String VERIFY_PATH = "target/raml2springboot/verify";
+
+	private static final int MAX_REPORTED_ERRORS = 20;
+
+	private static final Map<String, List<String>> classpaths = new ConcurrentHashMap<>();
+
+	// Kept for the life of the generator, so the jars on the classpath are only opened once for all runs
+	private static StandardJavaFileManager fileManager = null;
+
+	private static class StagedSource extends SimpleJavaFileObject {
+		private final Path stagedFile;
+
+		private StagedSource(final Path sourcePath, final Path stagedFile) {
+			super(sourcePath.toUri(), Kind.SOURCE);
+			this.stagedFile = stagedFile;
+		}
+
+		@Override
+		public CharSequence getCharContent(final boolean ignoreEncodingErrors) throws IOException {
+			return new String(Files.readAllBytes(stagedFile), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static String getMavenExecutable() {
+		final String executable = File.separatorChar == '\\' ? "mvn.cmd" : "mvn";
+
+		for (final String mavenHome : new String[] { System.getProperty("maven.home"), System.getenv("MAVEN_HOME"),
+				System.getenv("M2_HOME") }) {
+			if (mavenHome != null && Files.isRegularFile(Paths.get(mavenHome, "bin", executable))) {
+				return Paths.get(mavenHome, "bin", executable).toString();
+			}
+		}
+
+		return executable;
+	}
+
+	private static List<String> resolveClasspath(final Path projectDirectory, final Path pomFile,
+			final Path classpathFile) throws Exception {
+		final List<String> command = Arrays.asList(getMavenExecutable(), "-B", "-q", "-f", pomFile.toString(),
+				"dependency:build-classpath", "-Dmdep.includeScope=test", "-Dmdep.outputFile=" + classpathFile);
+		final Process process = new ProcessBuilder(command).directory(projectDirectory.toFile())
+				.redirectErrorStream(true).start();
+		final List<String> output;
+
+		try (final BufferedReader reader = new BufferedReader(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			output = reader.lines().collect(Collectors.toList());
+		}
+
+		if (process.waitFor() != 0 || !Files.isRegularFile(classpathFile)) {
+			throw new Exception("Could not resolve the classpath from pom.xml for compile verification: "
+					+ output.stream().filter(line -> line.contains("ERROR")).findFirst()
+							.orElse(String.join(" ", command) + " failed"));
+		}
+
+		final String classpath = new String(Files.readAllBytes(classpathFile), StandardCharsets.UTF_8).trim();
+
+		return classpath.isEmpty() ? Collections.emptyList()
+				: Arrays.asList(classpath.split(File.pathSeparator));
+	}
+
+	// Resolved by Maven once per pom content, including the dependencies the generator adds to it in this run
+	private static List<String> getClasspath(final CodeGenConfig codeGenConfig, final Map<Path, Path> stagedFiles)
+			throws Exception {
+		if (codeGenConfig.getClasspath() != null) {
+			return codeGenConfig.getClasspath();
+		}
+
+		final Path projectDirectory = Paths.get(codeGenConfig.getProjectDirectory());
+		final Path pomPath = Paths.get(codeGenConfig.getPomFilePath());
+		final Path pomFile = stagedFiles.getOrDefault(pomPath, pomPath);
+		final String pomHash = GenerationManifest.hash(pomFile);
+		final Path cacheFile = projectDirectory.resolve(CLASSPATH_PATH);
+
+		if (classpaths.containsKey(pomHash)) {
+			return classpaths.get(pomHash);
+		}
+
+		if (Files.isReadable(cacheFile)) {
+			final List<String> lines = Files.readAllLines(cacheFile, StandardCharsets.UTF_8);
+
+			if (!lines.isEmpty() && pomHash.equals(lines.get(0))) {
+				final List<String> classpath = lines.subList(1, lines.size());
+				classpaths.put(pomHash, classpath);
+
+				return classpath;
+			}
+		}
+
+		final Path resolveDirectory = projectDirectory.resolve(VERIFY_PATH);
+		Files.createDirectories(resolveDirectory);
+
+		// A pom changed in this run is only staged, so Maven is pointed at a copy of it
+		final Path resolvePom = pomFile.equals(pomPath) ? pomPath : resolveDirectory.resolve("pom.xml");
+		final Path classpathFile = resolveDirectory.resolve("classpath.txt");
+
+		try {
+			if (!resolvePom.equals(pomPath)) {
+				Files.copy(pomFile, resolvePom, StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			final List<String> classpath = resolveClasspath(projectDirectory, resolvePom, classpathFile);
+			final List<String> lines = new ArrayList<>();
+
+			lines.add(pomHash);
+			lines.addAll(classpath);
+			Files.write(cacheFile, lines, StandardCharsets.UTF_8);
+			classpaths.put(pomHash, classpath);
+
+			return classpath;
+		} finally {
+			Files.deleteIfExists(classpathFile);
+
+			if (!resolvePom.equals(pomPath)) {
+				Files.deleteIfExists(resolvePom);
+			}
+		}
+	}
+
+	private static void addSources(final Path sourceDirectory, final Map<Path, JavaFileObject> sources,
+			final StandardJavaFileManager fileManager) throws IOException {
+		if (!Files.isDirectory(sourceDirectory)) {
+			return;
+		}
+
+		try (final Stream<Path> files = Files.walk(sourceDirectory)) {
+			for (final Path file : files.filter(file -> file.toString().endsWith(".java")).sorted()
+					.collect(Collectors.toList())) {
+				sources.put(file.toAbsolutePath().normalize(),
+						fileManager.getJavaFileObjects(file.toFile()).iterator().next());
+			}
+		}
+	}
+
+	private static String getError(final CodeGenConfig codeGenConfig,
+			final Diagnostic<? extends JavaFileObject> error) {
+		final Path projectDirectory = Paths.get(codeGenConfig.getProjectDirectory()).toAbsolutePath().normalize();
+		final Path sourcePath = error.getSource() == null ? null
+				: Paths.get(error.getSource().toUri()).toAbsolutePath().normalize();
+		final String origin = sourcePath == null ? null
+				: codeGenConfig.getManifest().getOrigin(sourcePath, error.getLineNumber());
+		final String location = sourcePath == null ? ""
+				: (sourcePath.startsWith(projectDirectory) ? projectDirectory.relativize(sourcePath) : sourcePath)
+						.toString().replace('\\', '/') + ":" + error.getLineNumber() + ": ";
+
+		return location + error.getMessage(Locale.ROOT).replaceAll("\\s*[\\r\\n]+\\s*", " ")
+				+ (origin == null ? "" : " (generated from " + origin + ")");
+	}
+
+	private static void deleteDirectory(final Path directory) throws IOException {
+		try (final Stream<Path> files = Files.walk(directory)) {
+			for (final Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	// Compiles the project as it would be after the commit, i.e. with the staged files instead of the ones they replace
+	public static void verify(final CodeGenConfig codeGenConfig) throws Exception {
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		if (compiler == null) {
+			throw new Exception("Compile verification needs a JDK, but the generator runs on a JRE");
+		}
+
+		final Path projectDirectory = Paths.get(codeGenConfig.getProjectDirectory());
+		final Map<Path, Path> stagedFiles = codeGenConfig.getManifest().getStagedFiles();
+		final List<File> classpath = getClasspath(codeGenConfig, stagedFiles).stream().map(File::new)
+				.collect(Collectors.toList());
+		final Set<Path> sourceDirectories = new LinkedHashSet<>();
+
+		for (final String sourceDirectory : new String[] { codeGenConfig.getProjectDirectory() + "/src/main/java",
+				codeGenConfig.getProjectDirectory() + "/src/test/java", codeGenConfig.getSourceDirectory(),
+				codeGenConfig.getTestDirectory() }) {
+			sourceDirectories.add(Paths.get(sourceDirectory).toAbsolutePath().normalize());
+		}
+
+		Files.createDirectories(projectDirectory.resolve(VERIFY_PATH));
+		final Path outputDirectory = Files.createTempDirectory(projectDirectory.resolve(VERIFY_PATH), "classes-");
+
+		try {
+			final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+			final boolean compiled;
+
+			synchronized (CompileVerifier.class) {
+				if (fileManager == null) {
+					fileManager = compiler.getStandardFileManager(null, Locale.ROOT, StandardCharsets.UTF_8);
+				}
+
+				final Map<Path, JavaFileObject> sources = new LinkedHashMap<>();
+
+				for (final Path sourceDirectory : sourceDirectories) {
+					addSources(sourceDirectory, sources, fileManager);
+				}
+
+				for (final Map.Entry<Path, Path> stagedFile : stagedFiles.entrySet()) {
+					final Path sourcePath = stagedFile.getKey().toAbsolutePath().normalize();
+
+					if (sourcePath.toString().endsWith(".java")) {
+						sources.put(sourcePath, new StagedSource(sourcePath, stagedFile.getValue()));
+					}
+				}
+
+				fileManager.setLocation(StandardLocation.CLASS_PATH, classpath);
+				fileManager.setLocation(StandardLocation.SOURCE_PATH, Collections.emptyList());
+				fileManager.setLocation(StandardLocation.CLASS_OUTPUT,
+						Collections.singletonList(outputDirectory.toFile()));
+				fileManager.setLocation(StandardLocation.SOURCE_OUTPUT,
+						Collections.singletonList(outputDirectory.toFile()));
+
+				try {
+					compiled = compiler.getTask(null, fileManager, diagnostics,
+							Arrays.asList("-encoding", "UTF-8", "-nowarn", "-Xlint:none"), null, sources.values())
+							.call();
+				} catch (RuntimeException e) {
+					// Mostly an annotation processor on the project classpath that does not support the running JDK
+					Throwable cause = e;
+
+					while (cause.getCause() != null) {
+						cause = cause.getCause();
+					}
+
+					throw new Exception("Compile verification could not compile the generated code: " + cause, e);
+				}
+			}
+
+			final List<String> errors = diagnostics.getDiagnostics().stream()
+					.filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+					.map(diagnostic -> getError(codeGenConfig, diagnostic)).distinct().collect(Collectors.toList());
+
+			if (!compiled || !errors.isEmpty()) {
+				throw new Exception("Generated code does not compile (" + errors.size() + " errors):"
+						+ System.lineSeparator()
+						+ errors.stream().limit(MAX_REPORTED_ERRORS).collect(Collectors.joining(System.lineSeparator()))
+						+ (errors.size() > MAX_REPORTED_ERRORS
+								? System.lineSeparator() + "... " + (errors.size() - MAX_REPORTED_ERRORS) + " more"
+								: ""));
+			}
+		} finally {
+			deleteDirectory(outputDirectory);
+		}
+	}
+}
@@ -5,15 +5,32 @@ import java.sql.DatabaseMetaData;
 import java.sql.DriverManager;
 import java.sql.JDBCType;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 public class DatabaseUtil {
-	private static DatabaseUtil databaseUtil = null;
+	public static final String BULK_INTROSPECTION = "bulk";
+	public static final String PARALLEL_INTROSPECTION = "parallel";
+
+	private static final Map<List<String>, DatabaseUtil> instances = new ConcurrentHashMap<>();
+	private static volatile boolean keepMetadata = false;
 
 	private final String jdbcUrl;
 	private final String userName;
 	private final String password;
+	private final Map<String, TableDefinition> keptTables = new ConcurrentHashMap<>();
 
 	private DatabaseUtil(final String jdbcUrl, final String userName, final String password) {
 		this.jdbcUrl = jdbcUrl;
@@ -21,55 +38,241 @@ public class DatabaseUtil {
 		this.password = password;
 	}
 
-	public static DatabaseUtil getInstance(final String driverClassName, final String jdbcUrl, final String userName,
-			final String password) throws Exception {
+	public static synchronized DatabaseUtil getInstance(final String driverClassName, final String jdbcUrl,
+			final String userName, final String password) throws Exception {
+		// One instance per connection settings, so projects sharing a database also share its kept metadata
+		final List<String> settings = Arrays.asList(driverClassName, jdbcUrl, userName, password);
+		DatabaseUtil databaseUtil = instances.get(settings);
+
 		if (databaseUtil == null) {
 			Class.forName(driverClassName);
 			databaseUtil = new DatabaseUtil(jdbcUrl, userName, password);
+			instances.put(settings, databaseUtil);
 		}
 
 		return databaseUtil;
 	}
 
-	public TableDefinition getTableDefinition(final String tableName) throws Exception {
-		final TableDefinition table = new TableDefinition(tableName);
+	public static void setKeepMetadata(final boolean keepMetadata) {
+		DatabaseUtil.keepMetadata = keepMetadata;
+		clearKeptMetadata();
+	}
 
-		Connection connection = null;
-		try {
-			connection = DriverManager.getConnection(jdbcUrl, userName, password);
+	public static void clearKeptMetadata() {
+		instances.values().forEach(databaseUtil -> databaseUtil.keptTables.clear());
+	}
 
-			final DatabaseMetaData databaseMetaData = connection.getMetaData();
-			final List<ColumnDefinition> columns = new ArrayList<>();
-			final ResultSet columnsResultSet = databaseMetaData.getColumns(null, null, tableName, "%");
+	private static void addColumns(final ResultSet columnsResultSet, final Map<String, TableDefinition> tables)
+			throws SQLException {
+		while (columnsResultSet.next()) {
+			final TableDefinition table = tables.get(columnsResultSet.getString(3).toUpperCase());
 
-			while (columnsResultSet.next()) {
-				columns.add(new ColumnDefinition(columnsResultSet.getString(4),
+			if (table != null) {
+				table.addColumn(new ColumnDefinition(columnsResultSet.getString(4),
 						JDBCType.valueOf(columnsResultSet.getInt(5)), columnsResultSet.getInt(17),
 						"YES".equals(columnsResultSet.getString(18)) ? true : false,
 						"YES".equals(columnsResultSet.getString(23)) ? true : false));
 			}
+		}
+
+		columnsResultSet.close();
+	}
 
-			columnsResultSet.close();
+	private static void addPrimaryKeys(final ResultSet primaryKeysResultSet, final Map<String, TableDefinition> tables)
+			throws SQLException {
+		while (primaryKeysResultSet.next()) {
+			final TableDefinition table = tables.get(primaryKeysResultSet.getString(3).toUpperCase());
+			final ColumnDefinition column = table == null ? null : table.getColumn(primaryKeysResultSet.getString(4));
 
-			final ResultSet primaryKeysResultSet = databaseMetaData.getPrimaryKeys(null, null, tableName);
+			if (column != null) {
+				column.setPrimaryKeyOrder(primaryKeysResultSet.getInt(5));
+			}
+		}
+
+		primaryKeysResultSet.close();
+	}
 
-			while (primaryKeysResultSet.next()) {
-				final String columnName = primaryKeysResultSet.getString(4);
-				final int primaryKeyOrder = primaryKeysResultSet.getInt(5);
+	private static void addForeignKeys(final ResultSet foreignKeysResultSet, final Map<String, TableDefinition> tables)
+			throws SQLException {
+		while (foreignKeysResultSet.next()) {
+			final TableDefinition table = tables.get(foreignKeysResultSet.getString(7).toUpperCase());
+			final ColumnDefinition column = table == null ? null : table.getColumn(foreignKeysResultSet.getString(8));
 
-				columns.stream().filter(column -> column.getColumnName().equals(columnName))
-						.forEach(column -> column.setPrimaryKeyOrder(primaryKeyOrder));
+			if (column != null) {
+				column.setForeignKey(foreignKeysResultSet.getString(3), foreignKeysResultSet.getString(4));
 			}
+		}
 
-			primaryKeysResultSet.close();
+		foreignKeysResultSet.close();
+	}
 
-			table.setColumns(columns);
-		} finally {
-			if (connection != null && !connection.isClosed()) {
-				connection.close();
+	private static Map<String, TableDefinition> newTableDefinitions(final List<String> tableNames) {
+		final Map<String, TableDefinition> tables = new LinkedHashMap<>();
+
+		tableNames.forEach(tableName -> {
+			final TableDefinition table = new TableDefinition(tableName);
+			table.setColumns(new ArrayList<>());
+			tables.putIfAbsent(tableName.toUpperCase(), table);
+		});
+
+		return tables;
+	}
+
+	private static Map<String, TableDefinition> getTablesByName(final Map<String, TableDefinition> tables) {
+		return tables.values().stream().collect(Collectors.toMap(TableDefinition::getTableName, table -> table,
+				(t1, t2) -> t1, LinkedHashMap::new));
+	}
+
+	private static String getCurrentSchema(final Connection connection) {
+		try {
+			return connection.getSchema();
+		} catch (SQLException | AbstractMethodError e) {
+			// Drivers older than JDBC 4.1 cannot tell, so the tables are looked up one by one
+			return null;
+		}
+	}
+
+	// The table is looked up in every schema, so a name found in more than one of them cannot be told apart
+	private static void introspectTable(final DatabaseMetaData databaseMetaData, final TableDefinition table)
+			throws SQLException {
+		final Set<String> schemas = new HashSet<>();
+
+		try (final ResultSet tablesResultSet = databaseMetaData.getTables(null, null, table.getTableName(), null)) {
+			while (tablesResultSet.next()) {
+				schemas.add(tablesResultSet.getString(2));
 			}
 		}
 
+		if (schemas.size() > 1) {
+			throw new SQLException("Table " + table.getTableName() + " is in more than one schema " + schemas
+					+ ", so its columns cannot be told apart");
+		}
+
+		final String schema = schemas.isEmpty() ? null : schemas.iterator().next();
+		final Map<String, TableDefinition> tables = new LinkedHashMap<>();
+		tables.put(table.getTableName().toUpperCase(), table);
+
+		addColumns(databaseMetaData.getColumns(null, schema, table.getTableName(), "%"), tables);
+		addPrimaryKeys(databaseMetaData.getPrimaryKeys(null, schema, table.getTableName()), tables);
+		addForeignKeys(databaseMetaData.getImportedKeys(null, schema, table.getTableName()), tables);
+	}
+
+	public TableDefinition getTableDefinition(final String tableName) throws Exception {
+		final TableDefinition table = new TableDefinition(tableName);
+		table.setColumns(new ArrayList<>());
+
+		try (final Connection connection = DriverManager.getConnection(jdbcUrl, userName, password)) {
+			introspectTable(connection.getMetaData(), table);
+		}
+
 		return table;
 	}
+
+	public Map<String, TableDefinition> getTableDefinitions(final List<String> tableNames) throws Exception {
+		final Map<String, TableDefinition> tables = newTableDefinitions(tableNames);
+
+		try (final Connection connection = DriverManager.getConnection(jdbcUrl, userName, password)) {
+			final DatabaseMetaData databaseMetaData = connection.getMetaData();
+			final String catalog = connection.getCatalog();
+			final String schema = getCurrentSchema(connection);
+
+			// Without the current schema the bulk lookup would merge the columns of same-named tables in every schema
+			if (schema == null) {
+				for (final TableDefinition table : tables.values()) {
+					introspectTable(databaseMetaData, table);
+				}
+
+				return getTablesByName(tables);
+			}
+
+			addColumns(databaseMetaData.getColumns(catalog, schema, "%", "%"), tables);
+
+			// Tables outside the current schema are looked up one by one, the way they were found before
+			final Map<String, TableDefinition> schemaTables = new LinkedHashMap<>();
+
+			for (final Map.Entry<String, TableDefinition> table : tables.entrySet()) {
+				if (table.getValue().getColumns().isEmpty()) {
+					introspectTable(databaseMetaData, table.getValue());
+				} else {
+					schemaTables.put(table.getKey(), table.getValue());
+				}
+			}
+
+			boolean schemaWideKeys;
+
+			try {
+				// A null table name is not part of the JDBC contract, most drivers read it as all tables but some
+				// take it literally and return no keys at all
+				addPrimaryKeys(databaseMetaData.getPrimaryKeys(catalog, schema, null), schemaTables);
+				schemaWideKeys = schemaTables.values().stream().anyMatch(table -> !table.getKeyColumns().isEmpty());
+
+				if (schemaWideKeys) {
+					addForeignKeys(databaseMetaData.getImportedKeys(catalog, schema, null), schemaTables);
+				}
+			} catch (SQLException e) {
+				schemaWideKeys = false;
+			}
+
+			for (final Map.Entry<String, TableDefinition> table : schemaTables.entrySet()) {
+				final Map<String, TableDefinition> singleTable = new LinkedHashMap<>();
+				singleTable.put(table.getKey(), table.getValue());
+
+				if (!schemaWideKeys || table.getValue().getKeyColumns().isEmpty()) {
+					addPrimaryKeys(databaseMetaData.getPrimaryKeys(catalog, schema, table.getValue().getTableName()),
+							singleTable);
+				}
+
+				if (!schemaWideKeys) {
+					addForeignKeys(databaseMetaData.getImportedKeys(catalog, schema, table.getValue().getTableName()),
+							singleTable);
+				}
+			}
+		}
+
+		return getTablesByName(tables);
+	}
+
+	public Map<String, TableDefinition> getTableDefinitions(final List<String> tableNames, final int threads)
+			throws Exception {
+		final ExecutorService executor = Executors
+				.newFixedThreadPool(Math.max(1, Math.min(threads, tableNames.size())));
+
+		try {
+			final Map<String, Future<TableDefinition>> futures = new LinkedHashMap<>();
+			tableNames.forEach(tableName -> futures.putIfAbsent(tableName,
+					executor.submit(() -> getTableDefinition(tableName))));
+
+			final Map<String, TableDefinition> tables = new LinkedHashMap<>();
+
+			for (final Map.Entry<String, Future<TableDefinition>> future : futures.entrySet()) {
+				tables.put(future.getKey(), future.getValue().get());
+			}
+
+			return tables;
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	public Map<String, TableDefinition> getTableDefinitions(final List<String> tableNames, final String introspection,
+			final int threads) throws Exception {
+		if (!keepMetadata) {
+			return PARALLEL_INTROSPECTION.equals(introspection) ? getTableDefinitions(tableNames, threads)
+					: getTableDefinitions(tableNames);
+		}
+
+		final List<String> missingTableNames = tableNames.stream()
+				.filter(tableName -> !keptTables.containsKey(tableName)).collect(Collectors.toList());
+
+		if (!missingTableNames.isEmpty()) {
+			keptTables.putAll(PARALLEL_INTROSPECTION.equals(introspection)
+					? getTableDefinitions(missingTableNames, threads)
+					: getTableDefinitions(missingTableNames));
+		}
+
+		return tableNames.stream().collect(
+				Collectors.toMap(tableName -> tableName, keptTables::get, (t1, t2) -> t1, LinkedHashMap::new));
+	}
 }
@@ -0,0 +1,107 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.util.List;
+import java.util.Map;
+
+public class EndpointDefinition {
+	private final ResourceDefinition resource;
+	private final String method;
+	private final String methodName;
+	private final List<TypeDefinition> headers;
+	private final List<TypeDefinition> uriParameters;
+	private final List<TypeDefinition> queryParameters;
+	private final String requestBodyType;
+	private final String requestBodyVariableName;
+	private final boolean pageType;
+	private final boolean sliceType;
+	private final String responseType;
+	private final List<String> responseCodes;
+	private final Map<String, String> errorResponseTypes;
+	private final Map<String, String> annotations;
+
+	public EndpointDefinition(final ResourceDefinition resource, final String method,
+			final List<TypeDefinition> headers, final List<TypeDefinition> uriParameters,
+			final List<TypeDefinition> queryParameters, final String requestBodyType,
+			final String requestBodyVariableName, final boolean pageType, final boolean sliceType,
+			final String responseType, final List<String> responseCodes, final Map<String, String> errorResponseTypes,
+			final Map<String, String> annotations) {
+		this.resource = resource;
+		this.method = method;
+		this.methodName = method + GeneratorUtil.getTitleCaseFromCamelCase(resource.getDisplayName());
+		this.headers = headers;
+		this.uriParameters = uriParameters;
+		this.queryParameters = queryParameters;
+		this.requestBodyType = requestBodyType;
+		this.requestBodyVariableName = requestBodyVariableName;
+		this.pageType = pageType;
+		this.sliceType = sliceType;
+		this.responseType = responseType;
+		this.responseCodes = responseCodes;
+		this.errorResponseTypes = errorResponseTypes;
+		this.annotations = annotations;
+	}
+
+	public ResourceDefinition getResource() {
+		return resource;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public String getOrigin() {
+		return "RAML method " + method + " " + resource.getResourcePath();
+	}
+
+	public String getMethodName() {
+		return methodName;
+	}
+
+	public List<TypeDefinition> getHeaders() {
+		return headers;
+	}
+
+	public List<TypeDefinition> getUriParameters() {
+		return uriParameters;
+	}
+
+	public List<TypeDefinition> getQueryParameters() {
+		return queryParameters;
+	}
+
+	public boolean hasRequestBody() {
+		return "post".equals(method) || "put".equals(method) || "patch".equals(method);
+	}
+
+	public String getRequestBodyType() {
+		return requestBodyType;
+	}
+
+	public String getRequestBodyVariableName() {
+		return requestBodyVariableName;
+	}
+
+	public boolean isPageType() {
+		return pageType;
+	}
+
+	public boolean isSliceType() {
+		return sliceType;
+	}
+
+	public String getResponseType() {
+		return responseType;
+	}
+
+	public List<String> getResponseCodes() {
+		return responseCodes;
+	}
+
+	public Map<String, String> getErrorResponseTypes() {
+		return errorResponseTypes;
+	}
+
+	public String getAnnotation(final String name) {
+		return annotations.get(name);
+	}
+}
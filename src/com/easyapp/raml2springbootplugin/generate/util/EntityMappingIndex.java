@@ -0,0 +1,49 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig.Table;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig.Table.EntityMapping;
+
+// The tables of each transport and RAML type, in the order the tables are configured
+public class EntityMappingIndex {
+	private final Map<String, Map<Table, EntityMapping>> entityMappingsByTransport = new HashMap<>();
+	private final Map<String, Map<Table, EntityMapping>> crudMappingsByRamlType = new HashMap<>();
+
+	public EntityMappingIndex(final JpaConfig jpaConfig) {
+		if (jpaConfig == null || jpaConfig.getTables() == null) {
+			return;
+		}
+
+		jpaConfig.getTables().stream().filter(table -> table.getEntityMappings() != null)
+				.forEach(table -> table.getEntityMappings().forEach(entityMapping -> {
+					final String ramlType = GeneratorUtil.getTitleCaseFromCamelCase(entityMapping.getRamlType());
+
+					entityMappingsByTransport.computeIfAbsent(ramlType + "Transport", key -> new LinkedHashMap<>())
+							.putIfAbsent(table, entityMapping);
+
+					if (entityMapping.useForCRUD()) {
+						crudMappingsByRamlType.computeIfAbsent(ramlType, key -> new LinkedHashMap<>())
+								.putIfAbsent(table, entityMapping);
+					}
+				}));
+	}
+
+	public Map<Table, EntityMapping> getEntityMappings(final String transportType) {
+		return entityMappingsByTransport.getOrDefault(transportType, Collections.emptyMap());
+	}
+
+	public Map<Table, EntityMapping> getCrudMappings(final String ramlType) {
+		return crudMappingsByRamlType.getOrDefault(ramlType, Collections.emptyMap());
+	}
+
+	// The first table whose mapping for the transport is its CRUD mapping
+	public Table getCrudTable(final String transportType) {
+		return getEntityMappings(transportType).entrySet().stream().filter(entry -> entry.getValue().useForCRUD())
+				.map(Map.Entry::getKey).findFirst().orElse(null);
+	}
+}
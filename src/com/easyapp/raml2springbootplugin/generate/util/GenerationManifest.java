@@ -0,0 +1,363 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class GenerationManifest {
+	public static final String MANIFEST_PATH = "target/raml2springboot/manifest";
+	public static final String STAGING_PATH = "target/raml2springboot/staging";
+
+	private final Path projectDirectory;
+	private final Path manifestPath;
+	private final GenerationMetrics metrics;
+	private final Map<String, String> hashes = new ConcurrentSkipListMap<>();
+	private final Set<String> claimedArtifacts = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger artifactsWritten = new AtomicInteger();
+	private final AtomicInteger artifactsSkipped = new AtomicInteger();
+	private final AtomicInteger artifactsStaged = new AtomicInteger();
+	private final Map<String, StagedArtifact> stagedArtifacts = new HashMap<>();
+	private final List<Path> committedArtifacts = new ArrayList<>();
+	private final Map<String, NavigableMap<Integer, String>> origins = new ConcurrentHashMap<>();
+	private Path stagingDirectory = null;
+	private boolean discarded = false;
+	private volatile BuildCache.Recorder recorder = null;
+	private volatile boolean modified = false;
+
+	private static class StagedArtifact {
+		private final String contentHash;
+		private final Path writePath;
+		private final Path stagedFile;
+
+		private StagedArtifact(final String contentHash, final Path writePath, final Path stagedFile) {
+			this.contentHash = contentHash;
+			this.writePath = writePath;
+			this.stagedFile = stagedFile;
+		}
+	}
+
+	public GenerationManifest(final String projectDirectory, final GenerationMetrics metrics) {
+		this.projectDirectory = Paths.get(projectDirectory).toAbsolutePath().normalize();
+		this.manifestPath = this.projectDirectory.resolve(MANIFEST_PATH);
+		this.metrics = metrics;
+
+		if (Files.isReadable(manifestPath)) {
+			try {
+				Files.readAllLines(manifestPath, StandardCharsets.UTF_8).stream().filter(line -> line.contains(" "))
+						.forEach(line -> hashes.put(line.substring(line.indexOf(' ') + 1),
+								line.substring(0, line.indexOf(' '))));
+			} catch (IOException e) {
+				// An unreadable manifest only means everything is treated as changed
+				hashes.clear();
+			}
+		}
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static String toHex(final byte[] digest) {
+		final StringBuilder hash = new StringBuilder();
+
+		for (final byte digestByte : digest) {
+			hash.append(String.format("%02x", digestByte));
+		}
+
+		return hash.toString();
+	}
+
+	public static String hash(final byte[] content) {
+		return toHex(getDigest().digest(content));
+	}
+
+	public static String hash(final Path file) throws IOException {
+		final MessageDigest digest = getDigest();
+		final byte[] buffer = new byte[8192];
+
+		try (final InputStream input = Files.newInputStream(file)) {
+			for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+				digest.update(buffer, 0, read);
+			}
+		}
+
+		return toHex(digest.digest());
+	}
+
+	private String getKey(final Path artifactPath) {
+		final Path absolutePath = artifactPath.toAbsolutePath().normalize();
+
+		return (absolutePath.startsWith(projectDirectory) ? projectDirectory.relativize(absolutePath) : absolutePath)
+				.toString().replace('\\', '/');
+	}
+
+	// Every artifact of the run, changed or not, is handed to the build cache
+	public void setRecorder(final BuildCache.Recorder recorder) {
+		this.recorder = recorder;
+	}
+
+	public boolean isRecording() {
+		return recorder != null;
+	}
+
+	public void setOrigins(final Path artifactPath, final NavigableMap<Integer, String> lineOrigins) {
+		origins.put(getKey(artifactPath), lineOrigins);
+	}
+
+	public String getOrigin(final Path artifactPath, final long line) {
+		final NavigableMap<Integer, String> lineOrigins = origins.get(getKey(artifactPath));
+		final Map.Entry<Integer, String> origin = lineOrigins == null ? null
+				: lineOrigins.floorEntry((int) Math.min(line, Integer.MAX_VALUE));
+
+		return origin == null ? null : origin.getValue();
+	}
+
+	public boolean claimArtifact(final Path artifactPath) {
+		return claimedArtifacts.add(getKey(artifactPath));
+	}
+
+	private static Path getWritePath(final Path artifactPath, final boolean overwriteFiles) {
+		// Only shadow a (possibly hand edited) file with a .MERGE copy when the generated content moved on
+		return !overwriteFiles && Files.exists(artifactPath) ? Paths.get(artifactPath.toString() + ".MERGE")
+				: artifactPath;
+	}
+
+	private synchronized Path getStagedFile(final Path artifactPath) throws IOException {
+		if (discarded) {
+			throw new IllegalStateException("Generated artifacts were already committed or discarded");
+		}
+
+		if (stagingDirectory == null) {
+			Files.createDirectories(projectDirectory.resolve(STAGING_PATH));
+			stagingDirectory = Files.createTempDirectory(projectDirectory.resolve(STAGING_PATH), "run-");
+		}
+
+		return stagingDirectory.resolve(artifactsStaged.incrementAndGet() + "-" + artifactPath.getFileName());
+	}
+
+	private synchronized void stage(final String key, final StagedArtifact stagedArtifact) throws IOException {
+		// A generating thread still running after a failed phase has staged too late, its file is dropped
+		if (discarded) {
+			if (stagedArtifact != null) {
+				Files.deleteIfExists(stagedArtifact.stagedFile);
+			}
+
+			deleteStagingDirectory();
+			throw new IllegalStateException("Generated artifacts were already committed or discarded");
+		}
+
+		final StagedArtifact previous = stagedArtifact == null ? stagedArtifacts.remove(key)
+				: stagedArtifacts.put(key, stagedArtifact);
+
+		if (previous != null) {
+			Files.deleteIfExists(previous.stagedFile);
+		}
+	}
+
+	private boolean record(final Path artifactPath, final String contentHash, final long bytes,
+			final boolean unchanged) throws IOException {
+		final String key = getKey(artifactPath);
+
+		if (unchanged) {
+			// Drops an earlier version of the artifact staged in the same run
+			stage(key, null);
+
+			if (!contentHash.equals(hashes.put(key, contentHash))) {
+				modified = true;
+			}
+		}
+
+		if (metrics != null) {
+			metrics.recordArtifact(artifactPath, (int) bytes, !unchanged);
+		}
+
+		if (unchanged) {
+			artifactsSkipped.incrementAndGet();
+		} else {
+			artifactsWritten.incrementAndGet();
+		}
+
+		return !unchanged;
+	}
+
+	public boolean writeArtifact(final Path artifactPath, final String content, final boolean overwriteFiles)
+			throws IOException {
+		final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		final String contentHash = hash(bytes);
+		final boolean unchanged;
+
+		if (recorder != null) {
+			recorder.add(artifactPath, contentHash, bytes, overwriteFiles);
+		}
+
+		if (!Files.exists(artifactPath)) {
+			unchanged = false;
+		} else if (overwriteFiles) {
+			unchanged = Arrays.equals(bytes, Files.readAllBytes(artifactPath));
+		} else {
+			unchanged = contentHash.equals(hashes.get(getKey(artifactPath)));
+		}
+
+		if (!unchanged) {
+			final Path stagedFile = getStagedFile(artifactPath);
+			Files.write(stagedFile, bytes);
+			stage(getKey(artifactPath), new StagedArtifact(contentHash, getWritePath(artifactPath, overwriteFiles),
+					stagedFile));
+		}
+
+		return record(artifactPath, contentHash, bytes.length, unchanged);
+	}
+
+	// Takes over a file holding the complete content, for artifacts too large to be held in memory
+	public boolean writeArtifact(final Path artifactPath, final Path contentFile, final boolean overwriteFiles)
+			throws IOException {
+		final long bytes = Files.size(contentFile);
+		final String contentHash = hash(contentFile);
+		final boolean unchanged;
+
+		if (recorder != null) {
+			recorder.add(artifactPath, contentHash, contentFile, overwriteFiles);
+		}
+
+		if (!Files.exists(artifactPath)) {
+			unchanged = false;
+		} else if (overwriteFiles) {
+			unchanged = Files.size(artifactPath) == bytes && contentHash.equals(hash(artifactPath));
+		} else {
+			unchanged = contentHash.equals(hashes.get(getKey(artifactPath)));
+		}
+
+		if (unchanged) {
+			Files.delete(contentFile);
+		} else {
+			final Path stagedFile = getStagedFile(artifactPath);
+			Files.move(contentFile, stagedFile, StandardCopyOption.REPLACE_EXISTING);
+			stage(getKey(artifactPath), new StagedArtifact(contentHash, getWritePath(artifactPath, overwriteFiles),
+					stagedFile));
+		}
+
+		return record(artifactPath, contentHash, bytes, unchanged);
+	}
+
+	private static void move(final Path source, final Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	// Moves every staged artifact into the project, so the source tree is only touched once generation succeeded
+	public synchronized List<Path> commit() throws IOException {
+		final List<Map.Entry<String, StagedArtifact>> artifacts = stagedArtifacts.entrySet().stream()
+				.sorted(Map.Entry.comparingByKey()).collect(Collectors.toList());
+
+		for (final Map.Entry<String, StagedArtifact> artifact : artifacts) {
+			final Path writePath = artifact.getValue().writePath;
+			final String contentHash = artifact.getValue().contentHash;
+
+			if (writePath.getParent() != null && !Files.exists(writePath.getParent())) {
+				Files.createDirectories(writePath.getParent());
+			}
+
+			move(artifact.getValue().stagedFile, writePath);
+			stagedArtifacts.remove(artifact.getKey());
+			committedArtifacts.add(writePath);
+
+			if (!contentHash.equals(hashes.put(artifact.getKey(), contentHash))) {
+				modified = true;
+			}
+		}
+
+		discard();
+
+		return getCommittedArtifacts();
+	}
+
+	public synchronized void discard() throws IOException {
+		for (final StagedArtifact stagedArtifact : stagedArtifacts.values()) {
+			Files.deleteIfExists(stagedArtifact.stagedFile);
+		}
+
+		stagedArtifacts.clear();
+		discarded = true;
+		deleteStagingDirectory();
+	}
+
+	private void deleteStagingDirectory() throws IOException {
+		if (stagingDirectory == null) {
+			return;
+		}
+
+		try {
+			Files.deleteIfExists(stagingDirectory);
+			stagingDirectory = null;
+		} catch (DirectoryNotEmptyException e) {
+			// Removed by the last thread whose late staged file is dropped
+		}
+	}
+
+	// The content the project would have once committed: the staged file, keyed by the path it is committed to
+	public synchronized Map<Path, Path> getStagedFiles() {
+		final Map<Path, Path> stagedFiles = new HashMap<>();
+
+		for (final StagedArtifact stagedArtifact : stagedArtifacts.values()) {
+			stagedFiles.put(stagedArtifact.writePath, stagedArtifact.stagedFile);
+		}
+
+		return stagedFiles;
+	}
+
+	public synchronized List<Path> getCommittedArtifacts() {
+		return new ArrayList<>(committedArtifacts);
+	}
+
+	public int getArtifactsWritten() {
+		return artifactsWritten.get();
+	}
+
+	public int getArtifactsSkipped() {
+		return artifactsSkipped.get();
+	}
+
+	public synchronized void save() throws IOException {
+		if (!modified) {
+			return;
+		}
+
+		Files.createDirectories(manifestPath.getParent());
+
+		try (final BufferedWriter writer = Files.newBufferedWriter(manifestPath, StandardCharsets.UTF_8)) {
+			for (final Map.Entry<String, String> entry : hashes.entrySet()) {
+				writer.write(entry.getValue() + " " + entry.getKey());
+				writer.newLine();
+			}
+		}
+
+		modified = false;
+	}
+}
@@ -0,0 +1,189 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class GenerationMetrics {
+	public static final String REPORT_PATH = "target/raml2springboot/metrics.json";
+
+	private static final EventSink events = loadEvents();
+
+	private final String projectDirectory;
+	private final Instant startTime = Instant.now();
+	private final long startNanos = System.nanoTime();
+	private final Map<String, PhaseMetrics> phases = new ConcurrentHashMap<>();
+	private final AtomicInteger artifactsGenerated = new AtomicInteger();
+	private final AtomicInteger artifactsWritten = new AtomicInteger();
+	private final AtomicLong bytesGenerated = new AtomicLong();
+	private final AtomicLong bytesWritten = new AtomicLong();
+	private volatile Listener listener = null;
+
+	// Notified from the generating threads, a listener may throw to cancel the run between two artifacts
+	public interface Listener {
+		void phaseStarted(String name);
+
+		void artifactGenerated(Path artifactPath, boolean written);
+	}
+
+	@FunctionalInterface
+	public interface Action {
+		void run() throws Exception;
+	}
+
+	// Implemented by the Flight Recorder events in src-jfr, which src cannot refer to as it is compiled for Java 8
+	interface EventSink {
+		Object beginPhase(String projectDirectory, String phase);
+
+		void commitPhase(Object event);
+
+		void artifact(String path, long bytes, boolean written);
+	}
+
+	private static class PhaseMetrics {
+		private final long firstStartNanos;
+		private final AtomicLong elapsedNanos = new AtomicLong();
+		private final AtomicInteger count = new AtomicInteger();
+
+		private PhaseMetrics(final long firstStartNanos) {
+			this.firstStartNanos = firstStartNanos;
+		}
+	}
+
+	public class Phase implements AutoCloseable {
+		private final String name;
+		private final long phaseStartNanos = System.nanoTime();
+		private final Object event;
+
+		private Phase(final String name) {
+			this.name = name;
+			this.event = events == null ? null : events.beginPhase(projectDirectory, name);
+
+			if (listener != null) {
+				listener.phaseStarted(name);
+			}
+		}
+
+		@Override
+		public void close() {
+			final PhaseMetrics phase = phases.computeIfAbsent(name, phaseName -> new PhaseMetrics(phaseStartNanos));
+			phase.elapsedNanos.addAndGet(System.nanoTime() - phaseStartNanos);
+			phase.count.incrementAndGet();
+
+			if (event != null) {
+				events.commitPhase(event);
+			}
+		}
+	}
+
+	public GenerationMetrics(final String projectDirectory) {
+		this.projectDirectory = projectDirectory;
+	}
+
+	private static EventSink loadEvents() {
+		try {
+			Class.forName("jdk.jfr.Event");
+			return Class.forName("com.easyapp.raml2springbootplugin.generate.util.GenerationEvents")
+					.asSubclass(EventSink.class).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			// Java 8 runtimes without Flight Recorder, and builds without src-jfr, only get the report
+			return null;
+		}
+	}
+
+	public void setListener(final Listener listener) {
+		this.listener = listener;
+	}
+
+	public Phase startPhase(final String name) {
+		return new Phase(name);
+	}
+
+	public <T> T time(final String name, final Callable<T> callable) throws Exception {
+		final Phase phase = startPhase(name);
+
+		try {
+			return callable.call();
+		} finally {
+			phase.close();
+		}
+	}
+
+	public void time(final String name, final Action action) throws Exception {
+		time(name, () -> {
+			action.run();
+			return null;
+		});
+	}
+
+	public void recordArtifact(final Path artifactPath, final int bytes, final boolean written) {
+		artifactsGenerated.incrementAndGet();
+		bytesGenerated.addAndGet(bytes);
+
+		if (written) {
+			artifactsWritten.incrementAndGet();
+			bytesWritten.addAndGet(bytes);
+		}
+
+		if (events != null) {
+			events.artifact(artifactPath.toString(), bytes, written);
+		}
+
+		if (listener != null) {
+			listener.artifactGenerated(artifactPath, written);
+		}
+	}
+
+	public Map<String, Object> getReport(final String ramlFilePath, final boolean successful) {
+		final Map<String, Object> report = new LinkedHashMap<>();
+		report.put("ramlFile", ramlFilePath);
+		report.put("startTime", startTime.toString());
+		report.put("elapsedMillis", (System.nanoTime() - startNanos) / 1000000);
+		report.put("successful", successful);
+
+		final List<Map<String, Object>> phaseReports = phases.entrySet().stream()
+				.sorted((e1, e2) -> Long.compare(e1.getValue().firstStartNanos, e2.getValue().firstStartNanos))
+				.map(entry -> {
+					final Map<String, Object> phaseReport = new LinkedHashMap<>();
+					phaseReport.put("name", entry.getKey());
+					phaseReport.put("startMillis", (entry.getValue().firstStartNanos - startNanos) / 1000000);
+					phaseReport.put("elapsedMillis", entry.getValue().elapsedNanos.get() / 1000000);
+					phaseReport.put("count", entry.getValue().count.get());
+
+					return phaseReport;
+				}).collect(Collectors.toList());
+		report.put("phases", phaseReports);
+
+		final Map<String, Object> artifacts = new LinkedHashMap<>();
+		artifacts.put("generated", artifactsGenerated.get());
+		artifacts.put("written", artifactsWritten.get());
+		artifacts.put("skipped", artifactsGenerated.get() - artifactsWritten.get());
+		artifacts.put("bytesGenerated", bytesGenerated.get());
+		artifacts.put("bytesWritten", bytesWritten.get());
+		report.put("artifacts", artifacts);
+
+		return report;
+	}
+
+	public void writeReport(final String ramlFilePath, final boolean successful) {
+		try {
+			final Path reportPath = Paths.get(projectDirectory, REPORT_PATH);
+			Files.createDirectories(reportPath.getParent());
+			Files.write(reportPath, new ObjectMapper().writerWithDefaultPrettyPrinter()
+					.writeValueAsBytes(getReport(ramlFilePath, successful)));
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+}
@@ -2,68 +2,92 @@ package com.easyapp.raml2springbootplugin.generate.util;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.sql.JDBCType;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-
-import org.apache.maven.model.Dependency;
-import org.apache.maven.model.Model;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
-import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
-import org.raml.v2.api.model.v10.datamodel.ArrayTypeDeclaration;
-import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
-import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
-import org.raml.v2.api.model.v10.methods.Method;
-import org.raml.v2.api.model.v10.resources.Resource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
 import org.springframework.http.HttpStatus;
 
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.CacheConfig.Cache;
+import com.easyapp.raml2springbootplugin.config.ExternalConfig.JpaConfig.Table;
 import com.easyapp.raml2springbootplugin.generate.CodeGenerator;
 
 public class GeneratorUtil {
-	private static final Set<String> attributeConvertersCompleted = new HashSet<>();
+	private static final Map<String, CodeTemplate> templates = new ConcurrentHashMap<>();
 
-	private static void addURIParameters(final Resource resource, final List<TypeDeclaration> uriParameters) {
+	private static void addURIParameters(final ResourceDefinition resource, final List<TypeDefinition> uriParameters) {
 		if (resource != null) {
-			addURIParameters(resource.parentResource(), uriParameters);
-			uriParameters.addAll(resource.uriParameters());
+			addURIParameters(resource.getParentResource(), uriParameters);
+			uriParameters.addAll(resource.getUriParameters());
 		}
 	}
 	
-	public static void initialize() {
-		attributeConvertersCompleted.clear();
+	private static InputStream openTemplate(final String templateName) throws Exception {
+		final InputStream classpathStream = GeneratorUtil.class.getResourceAsStream("/" + templateName);
+
+		if (classpathStream != null) {
+			return classpathStream;
+		}
+
+		return new URL("platform:/plugin/RAML2SpringBootPlugin/" + templateName).openStream();
+	}
+
+	public static CodeTemplate getTemplate(final String templateName, final String... placeholders)
+			throws Exception {
+		final CodeTemplate template = templates.get(templateName);
+
+		if (template != null) {
+			return template;
+		}
+
+		final List<String> lines = new ArrayList<>();
+
+		try (final BufferedReader templateReader = new BufferedReader(
+				new InputStreamReader(openTemplate(templateName)))) {
+			String line = null;
+
+			while ((line = templateReader.readLine()) != null) {
+				lines.add(line);
+			}
+		}
+
+		templates.putIfAbsent(templateName, CodeTemplate.compile(lines, CodeGenerator.NEWLINE, placeholders));
+
+		return templates.get(templateName);
 	}
 
-	public static String getRequestBodyVariableName(final Method method) {
-		if (method.body().isEmpty()) {
+	public static String getRequestBodyVariableName(final MethodDefinition method) {
+		if (method.getBody().isEmpty()) {
 			return "requestBody";
 		} else {
-			final TypeDeclaration methodBody = method.body().get(0);
-			return (methodBody.displayName() == null || methodBody.displayName().value().isEmpty() ? "requestBody"
-					: methodBody.displayName().value());
+			final TypeDefinition methodBody = method.getBody().get(0);
+			return (methodBody.getDisplayName() == null || methodBody.getDisplayName().isEmpty() ? "requestBody"
+					: methodBody.getDisplayName());
 		}
 	}
 
-	public static List<TypeDeclaration> getHeaders(final Method method) {
-		List<TypeDeclaration> headers = new ArrayList<>();
+	public static List<TypeDefinition> getHeaders(final MethodDefinition method) {
+		List<TypeDefinition> headers = new ArrayList<>();
 		
 		if (method != null) {
-			headers.addAll(method.headers());
+			headers.addAll(method.getHeaders());
 		}
 
 		return headers;
 	}
 
-	public static List<TypeDeclaration> getURIParameters(final Resource resource) {
-		List<TypeDeclaration> uriParameters = new ArrayList<>();
+	public static List<TypeDefinition> getURIParameters(final ResourceDefinition resource) {
+		List<TypeDefinition> uriParameters = new ArrayList<>();
 		addURIParameters(resource, uriParameters);
 
 		return uriParameters;
@@ -93,55 +117,22 @@ public class GeneratorUtil {
 		return getCamelCaseFromTitleCase(getTitleCase(text, delimiter));
 	}
 
-	public static void validateAndUpdateMavenDependency(final CodeGenConfig codeGenConfig) throws Exception {
-		final MavenXpp3Reader mavenReader = new MavenXpp3Reader();
-		final Model pomModel = mavenReader.read(new FileReader(codeGenConfig.getPomFilePath()));
-		final Dependency starterDependency = pomModel.getDependencies().stream()
-				.filter(dependency -> dependency.getArtifactId().equals("spring-boot-starter")).findAny().orElse(null);
-
-		if (starterDependency != null) {
-			starterDependency.setArtifactId("spring-boot-starter-web");
-			final MavenXpp3Writer writer = new MavenXpp3Writer();
-
-			if (codeGenConfig.getExternalConfig().overwriteFiles()) {
-				writer.write(new FileWriter(codeGenConfig.getPomFilePath()), pomModel);
-			} else {
-				writer.write(new FileWriter(codeGenConfig.getPomFilePath() + ".MERGE"), pomModel);
-			}
+	public static String getCacheName(final Cache cache) {
+		if (cache.getCacheName() != null && !cache.getCacheName().isEmpty()) {
+			return cache.getCacheName();
+		} else if (cache.getTableName() != null) {
+			return getCamelCase(cache.getTableName(), "_");
+		} else {
+			return getCamelCaseFromTitleCase(Arrays.stream(cache.getResourcePath().split("/"))
+					.filter(segment -> !segment.isEmpty() && !segment.startsWith("{"))
+					.map(segment -> getTitleCaseFromCamelCase(segment.replaceAll("[^A-Za-z0-9]", "")))
+					.collect(Collectors.joining()));
 		}
 	}
 
-	public static void addMavenDependency(final CodeGenConfig codeGenConfig, final String groupId,
-			final String artifactId, final String version, final String scope) throws Exception {
-		final MavenXpp3Reader mavenReader = new MavenXpp3Reader();
-		final Model pomModel = mavenReader.read(new FileReader(codeGenConfig.getPomFilePath()));
-
-		if (pomModel.getDependencies().stream().filter(
-				dependency -> dependency.getGroupId().equals(groupId) && dependency.getArtifactId().equals(artifactId))
-				.findAny().orElse(null) == null) {
-			final Dependency dependency = new Dependency();
-
-			dependency.setGroupId(groupId);
-			dependency.setArtifactId(artifactId);
-
-			if (version != null) {
-				dependency.setVersion(version);
-			}
-
-			if (scope != null) {
-				dependency.setScope(scope);
-			}
-
-			pomModel.addDependency(dependency);
-
-			final MavenXpp3Writer writer = new MavenXpp3Writer();
-
-			if (codeGenConfig.getExternalConfig().overwriteFiles()) {
-				writer.write(new FileWriter(codeGenConfig.getPomFilePath()), pomModel);
-			} else {
-				writer.write(new FileWriter(codeGenConfig.getPomFilePath() + ".MERGE"), pomModel);
-			}
-		}
+	// Collections and non CRUD lookups of a table are cached apart from its entities, which are cached by key
+	public static String getQueriesCacheName(final Cache cache) {
+		return getCacheName(cache) + "Queries";
 	}
 
 	public static String getHttpStatusPhrase(final String httpCode) {
@@ -211,42 +202,33 @@ public class GeneratorUtil {
 		}
 	}
 
-	public static void createAttributeConverter(final String sourceDirectory, final String packageName,
-			final String entityKeyClassName, final boolean overwriteFiles) throws Exception {
-		if (attributeConvertersCompleted.contains(entityKeyClassName)) {
-			return;
-		}
-
-		final File directory = new File(sourceDirectory + File.separator + packageName.replace(".", File.separator));
-
-		if (!directory.exists()) {
-			directory.mkdirs();
-		}
-
-		String attributeConverterFilePath = directory + File.separator + entityKeyClassName + "AttributeConverter.java";
-
-		if (Files.exists(Paths.get(attributeConverterFilePath)) && !overwriteFiles) {
-			attributeConverterFilePath += ".MERGE";
-		}
+	// A whole number ETag column is the JPA version of its entity, any other ETag column is maintained by the database
+	public static boolean isVersionColumn(final Table table, final ColumnDefinition column) {
+		return column.getColumnName().equalsIgnoreCase(table.getEtagColumn())
+				&& "Long".equals(getJavaDataType(column.getDataType()));
+	}
 
-		final FileWriter attributeConverterFileWriter = new FileWriter(attributeConverterFilePath);
-		attributeConverterFileWriter
-				.write("package " + packageName + ";" + CodeGenerator.NEWLINE + CodeGenerator.NEWLINE);
+	public static void createAttributeConverter(final CodeGenConfig codeGenConfig, final String packageName,
+			final String entityKeyClassName) throws Exception {
+		createTemplateClass(codeGenConfig, packageName, entityKeyClassName + "AttributeConverter");
+	}
 
-		final BufferedReader attributeConverterFileReader = new BufferedReader(new InputStreamReader(
-				new URL("platform:/plugin/RAML2SpringBootPlugin/" + entityKeyClassName + "AttributeConverter")
-						.openStream()));
-		String line = null;
+	public static void createTemplateClass(final CodeGenConfig codeGenConfig, final String packageName,
+			final String className) throws Exception {
+		final String classFilePath = codeGenConfig.getSourceDirectory() + File.separator
+				+ packageName.replace(".", File.separator) + File.separator + className + ".java";
 
-		while ((line = attributeConverterFileReader.readLine()) != null) {
-			attributeConverterFileWriter.write(line + CodeGenerator.NEWLINE);
+		if (!codeGenConfig.getManifest().claimArtifact(Paths.get(classFilePath))) {
+			return;
 		}
 
-		attributeConverterFileWriter.flush();
-		attributeConverterFileWriter.close();
-		attributeConverterFileReader.close();
+		final StringBuilder templateClass = CodeGenerator.getOutputBuffer();
+		templateClass.append("package ").append(packageName).append(";").append(CodeGenerator.NEWLINE)
+				.append(CodeGenerator.NEWLINE);
+		getTemplate(className).render(templateClass, Collections.emptyMap());
 
-		attributeConvertersCompleted.add(entityKeyClassName);
+		codeGenConfig.getManifest().writeArtifact(Paths.get(classFilePath), templateClass.toString(),
+				codeGenConfig.getExternalConfig().overwriteFiles());
 	}
 
 	public static boolean isScalarRAMLType(final String type) {
@@ -255,47 +237,43 @@ public class GeneratorUtil {
 				|| "datetime".equals(type) || "null".equals(type) || "file".equals(type));
 	}
 
-	public static String getMemberName(final TypeDeclaration member) {
-		if (member.name().endsWith("?")) {
-			return member.name().substring(0, member.name().length() - 1);
+	public static String getMemberName(final TypeDefinition member) {
+		if (member.getName().endsWith("?")) {
+			return member.getName().substring(0, member.getName().length() - 1);
 		} else {
-			return member.name();
+			return member.getName();
 		}
 	}
 
-	public static String getMemberType(final TypeDeclaration member) {
-		if (member.type() == null || member.type().isEmpty()) {
+	public static String getMemberType(final TypeDefinition member) {
+		if (member.getType() == null || member.getType().isEmpty()) {
 			return "string";
-		} else if (!isScalarRAMLType(member.type()) && isScalarRAMLType(member.parentTypes().get(0).type())) {
-			return member.parentTypes().get(0).type();
+		} else if (!isScalarRAMLType(member.getType()) && isScalarRAMLType(member.getParentType())) {
+			return member.getParentType();
 		} else {
-			return member.type();
+			return member.getType();
 		}
 	}
 
-	private static void recursivelyAddTypes(final List<TransportDefinition> transportTypes, final String packageName,
-			final ObjectTypeDeclaration objectType, final boolean topLevel) {
+	private static void recursivelyAddTypes(final Map<String, TransportDefinition> transportTypes,
+			final String packageName,
+			final TypeDefinition objectType, final boolean topLevel) {
 		final String className = topLevel
-				? (objectType.name().contains("/") ? objectType.type() : GeneratorUtil.getMemberName(objectType))
-				: ("object".equals(objectType.type()) ? GeneratorUtil.getMemberName(objectType) : objectType.type());
-
-		if (transportTypes.stream().noneMatch(transportType -> className.equals(transportType.getClassName()))) {
-			final String extendsFrom = className.equals(objectType.type()) ? null
-					: ("object".equals(objectType.type()) ? null : objectType.type());
-			transportTypes.add(new TransportDefinition(packageName, className, extendsFrom, objectType));
-
-			if (objectType.properties() != null) {
-				objectType.properties().forEach(property -> {
-					ObjectTypeDeclaration propertyType = null;
-
-					if (property instanceof ArrayTypeDeclaration) {
-						final ArrayTypeDeclaration arrayType = (ArrayTypeDeclaration) property;
-						propertyType = (ObjectTypeDeclaration) arrayType.items();
-					} else if (property instanceof ObjectTypeDeclaration) {
-						propertyType = (ObjectTypeDeclaration) property;
-					}
+				? (objectType.getName().contains("/") ? objectType.getType() : GeneratorUtil.getMemberName(objectType))
+				: ("object".equals(objectType.getType()) ? GeneratorUtil.getMemberName(objectType)
+						: objectType.getType());
 
-					if (propertyType != null) {
+		final String extendsFrom = className.equals(objectType.getType()) ? null
+				: ("object".equals(objectType.getType()) ? null : objectType.getType());
+		final TransportDefinition transportType = new TransportDefinition(packageName, className, extendsFrom,
+				objectType);
+
+		if (transportTypes.putIfAbsent(transportType.getClassName(), transportType) == null) {
+			if (objectType.getProperties() != null) {
+				objectType.getProperties().forEach(property -> {
+					final TypeDefinition propertyType = property.isArrayType() ? property.getItems() : property;
+
+					if (propertyType.isObjectType()) {
 						recursivelyAddTypes(transportTypes, packageName, propertyType, false);
 					}
 				});
@@ -303,21 +281,13 @@ public class GeneratorUtil {
 		}
 	}
 
-	public static void addToMap(final List<TransportDefinition> transportTypes, final TypeDeclaration body,
+	public static void addToMap(final Map<String, TransportDefinition> transportTypes, final TypeDefinition body,
 			final String responseCode) {
 		final String packageName = responseCode == null || responseCode.startsWith("2")
 				? CodeGenerator.DEFAULT_TRANSPORT_PACKAGE : CodeGenerator.ERROR_TRANSPORT_PACKAGE;
+		final TypeDefinition objectType = body.isArrayType() ? body.getItems() : body;
 
-		ObjectTypeDeclaration objectType = null;
-
-		if (body instanceof ArrayTypeDeclaration) {
-			final ArrayTypeDeclaration arrayType = (ArrayTypeDeclaration) body;
-			objectType = (ObjectTypeDeclaration) arrayType.items();
-		} else if (body instanceof ObjectTypeDeclaration) {
-			objectType = (ObjectTypeDeclaration) body;
-		}
-
-		if (objectType != null) {
+		if (objectType.isObjectType()) {
 			recursivelyAddTypes(transportTypes, packageName, objectType, true);
 		}
 	}
@@ -0,0 +1,64 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+public class MethodDefinition implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final ResourceDefinition resource;
+	private final String method;
+	private final List<String> traits;
+	private final List<TypeDefinition> headers;
+	private final List<TypeDefinition> queryParameters;
+	private final List<TypeDefinition> body;
+	private final List<ResponseDefinition> responses;
+	private final Map<String, String> annotations;
+
+	public MethodDefinition(final ResourceDefinition resource, final String method, final List<String> traits,
+			final List<TypeDefinition> headers, final List<TypeDefinition> queryParameters,
+			final List<TypeDefinition> body, final List<ResponseDefinition> responses,
+			final Map<String, String> annotations) {
+		this.resource = resource;
+		this.method = method;
+		this.traits = traits;
+		this.headers = headers;
+		this.queryParameters = queryParameters;
+		this.body = body;
+		this.responses = responses;
+		this.annotations = annotations;
+	}
+
+	public ResourceDefinition getResource() {
+		return resource;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public List<String> getTraits() {
+		return traits;
+	}
+
+	public List<TypeDefinition> getHeaders() {
+		return headers;
+	}
+
+	public List<TypeDefinition> getQueryParameters() {
+		return queryParameters;
+	}
+
+	public List<TypeDefinition> getBody() {
+		return body;
+	}
+
+	public List<ResponseDefinition> getResponses() {
+		return responses;
+	}
+
+	public Map<String, String> getAnnotations() {
+		return annotations;
+	}
+}
@@ -0,0 +1,102 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.FileReader;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+
+public class PomSession {
+	private final CodeGenConfig codeGenConfig;
+	private final Model pomModel;
+	private boolean modified = false;
+
+	public PomSession(final CodeGenConfig codeGenConfig) throws Exception {
+		this.codeGenConfig = codeGenConfig;
+
+		this.pomModel = codeGenConfig.getMetrics().time("pom-read", () -> {
+			try (final FileReader pomReader = new FileReader(codeGenConfig.getPomFilePath())) {
+				return new MavenXpp3Reader().read(pomReader);
+			}
+		});
+	}
+
+	private Dependency getDependency(final String groupId, final String artifactId) {
+		return pomModel.getDependencies().stream()
+				.filter(dependency -> (groupId == null || dependency.getGroupId().equals(groupId))
+						&& dependency.getArtifactId().equals(artifactId))
+				.findAny().orElse(null);
+	}
+
+	public synchronized void replaceDependency(final String artifactId, final String newArtifactId) {
+		final Dependency dependency = getDependency(null, artifactId);
+
+		if (dependency != null) {
+			dependency.setArtifactId(newArtifactId);
+			modified = true;
+		}
+	}
+
+	public synchronized void addDependency(final String groupId, final String artifactId, final String version,
+			final String scope) {
+		if (getDependency(groupId, artifactId) == null) {
+			final Dependency dependency = new Dependency();
+
+			dependency.setGroupId(groupId);
+			dependency.setArtifactId(artifactId);
+
+			if (version != null) {
+				dependency.setVersion(version);
+			}
+
+			if (scope != null) {
+				dependency.setScope(scope);
+			}
+
+			pomModel.addDependency(dependency);
+			modified = true;
+		}
+	}
+
+	public synchronized void setPlugin(final Plugin plugin) {
+		if (pomModel.getBuild() == null) {
+			pomModel.setBuild(new Build());
+		}
+
+		pomModel.getBuild().getPlugins().removeIf(existingPlugin -> existingPlugin.getKey().equals(plugin.getKey()));
+		pomModel.getBuild().addPlugin(plugin);
+		modified = true;
+	}
+
+	public synchronized void addProperty(final String name, final String value) {
+		if (!pomModel.getProperties().containsKey(name)) {
+			pomModel.addProperty(name, value);
+			modified = true;
+		}
+	}
+
+	// Dependencies or plugins the generated code needs that are not in the pom yet
+	public synchronized boolean isModified() {
+		return modified;
+	}
+
+	public synchronized void flush() throws Exception {
+		if (modified && codeGenConfig.updatePom()) {
+			codeGenConfig.getMetrics().time("pom-write", () -> {
+				final StringWriter pom = new StringWriter();
+				new MavenXpp3Writer().write(pom, pomModel);
+
+				codeGenConfig.getManifest().writeArtifact(Paths.get(codeGenConfig.getPomFilePath()), pom.toString(),
+						codeGenConfig.getExternalConfig().overwriteFiles());
+				modified = false;
+			});
+		}
+	}
+}
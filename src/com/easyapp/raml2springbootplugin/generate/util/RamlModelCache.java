@@ -0,0 +1,270 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
+import org.raml.v2.api.model.v10.api.Api;
+import org.raml.v2.api.model.v10.datamodel.ArrayTypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+import org.raml.v2.api.model.v10.declarations.AnnotationRef;
+import org.raml.v2.api.model.v10.resources.Resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class RamlModelCache {
+	public static final String CACHE_DIRECTORY = "target/raml2springboot";
+
+	private static final int MODEL_VERSION = 2;
+	private static final int MEMORY_CACHE_SIZE = 16;
+	// A reference is either quoted, which may hold spaces, or plain
+	private static final Pattern INCLUDE = Pattern
+			.compile("!include\\s+(?:([\"'])(?<quoted>.+?)\\1|(?<plain>[^\\s#\"']+))");
+	private static final Pattern LIBRARY = Pattern.compile("^\\s+[^\\s:#]+\\s*:\\s*"
+			+ "(?:([\"'])(?<quoted>[^\"']+\\.(?:raml|yaml|yml))\\1|(?<plain>[^\\s#\"']+\\.(?:raml|yaml|yml)))\\s*$",
+			Pattern.MULTILINE);
+
+	private static final AtomicInteger memoryHits = new AtomicInteger();
+	private static final AtomicInteger diskHits = new AtomicInteger();
+	private static final AtomicInteger misses = new AtomicInteger();
+	private static final Map<String, ApiDefinition> memoryCache = new LinkedHashMap<String, ApiDefinition>(16, 0.75f,
+			true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, ApiDefinition> eldest) {
+			return size() > MEMORY_CACHE_SIZE;
+		}
+	};
+
+	private static void addRamlFiles(final Path ramlFile, final Set<Path> ramlFiles) throws Exception {
+		if (!ramlFiles.add(ramlFile) || !Files.isRegularFile(ramlFile)) {
+			return;
+		}
+
+		final String fileName = ramlFile.getFileName().toString();
+		final List<String> references = new ArrayList<>();
+
+		if (fileName.endsWith(".raml") || fileName.endsWith(".yaml") || fileName.endsWith(".yml")) {
+			final String content = new String(Files.readAllBytes(ramlFile), StandardCharsets.UTF_8);
+
+			for (final Pattern pattern : new Pattern[] { INCLUDE, LIBRARY }) {
+				final Matcher matcher = pattern.matcher(content);
+
+				while (matcher.find()) {
+					references.add(matcher.group("quoted") == null ? matcher.group("plain") : matcher.group("quoted"));
+				}
+			}
+		} else if (fileName.endsWith(".json")) {
+			// Included JSON schemas refer to other schemas, e.g. "$ref": "address.json#/definitions/street"
+			try {
+				for (final JsonNode reference : new ObjectMapper().readTree(ramlFile.toFile()).findValues("$ref")) {
+					final String schemaFile = reference.asText().replaceAll("#.*$", "");
+
+					if (!schemaFile.isEmpty()) {
+						references.add(schemaFile);
+					}
+				}
+			} catch (final IOException e) {
+				// The RAML parser reports a schema that is not JSON
+			}
+		}
+
+		for (final String reference : references) {
+			if (!reference.contains("://")) {
+				addRamlFiles(ramlFile.resolveSibling(reference).normalize(), ramlFiles);
+			}
+		}
+	}
+
+	public static Set<Path> getRamlFiles(final Path ramlFile) throws Exception {
+		final Set<Path> ramlFiles = new LinkedHashSet<>();
+		addRamlFiles(ramlFile.toAbsolutePath().normalize(), ramlFiles);
+
+		return ramlFiles;
+	}
+
+	public static String getCacheKey(final Path ramlFile) throws Exception {
+		final Path rootFile = ramlFile.toAbsolutePath().normalize();
+		final Set<Path> ramlFiles = getRamlFiles(rootFile);
+
+		final StringBuilder key = new StringBuilder("model-version:" + MODEL_VERSION);
+
+		for (final Path file : ramlFiles) {
+			key.append("\n").append(rootFile.getParent().relativize(file).toString().replace('\\', '/')).append(" ")
+					.append(Files.isRegularFile(file) ? GenerationManifest.hash(Files.readAllBytes(file)) : "missing");
+		}
+
+		return GenerationManifest.hash(key.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static TypeDefinition getTypeDefinition(final TypeDeclaration declaration,
+			final Set<String> expandingTypes) {
+		final String type = declaration.type();
+		final String parentType = declaration.parentTypes() == null || declaration.parentTypes().isEmpty() ? null
+				: declaration.parentTypes().get(0).type();
+		final String displayName = declaration.displayName() == null ? null : declaration.displayName().value();
+		final boolean required = Boolean.TRUE.equals(declaration.required());
+		List<TypeDefinition> properties = null;
+		TypeDefinition items = null;
+
+		if (declaration instanceof ArrayTypeDeclaration) {
+			final TypeDeclaration itemsDeclaration = ((ArrayTypeDeclaration) declaration).items();
+			items = itemsDeclaration == null ? null : getTypeDefinition(itemsDeclaration, expandingTypes);
+		} else if (declaration instanceof ObjectTypeDeclaration) {
+			// A named type that is already being expanded refers back to itself, so its properties are left out
+			final boolean namedType = type != null && !"object".equals(type);
+
+			if (!namedType || expandingTypes.add(type)) {
+				properties = ((ObjectTypeDeclaration) declaration).properties().stream()
+						.map(property -> getTypeDefinition(property, expandingTypes)).collect(Collectors.toList());
+
+				if (namedType) {
+					expandingTypes.remove(type);
+				}
+			}
+		}
+
+		return new TypeDefinition(declaration.name(), type, parentType, displayName, required,
+				declaration.defaultValue(), declaration instanceof ObjectTypeDeclaration, properties, items);
+	}
+
+	private static List<TypeDefinition> getTypeDefinitions(final List<TypeDeclaration> declarations) {
+		return declarations.stream().map(declaration -> getTypeDefinition(declaration, new HashSet<>()))
+				.collect(Collectors.toList());
+	}
+
+	// Only annotations with a scalar value, e.g. (cacheMaxAge): 60
+	private static Map<String, String> getAnnotations(final List<AnnotationRef> annotations) {
+		final Map<String, String> scalarAnnotations = new LinkedHashMap<>();
+
+		// The parser names annotations the way they are written, e.g. (cacheMaxAge)
+		annotations.stream()
+				.filter(annotation -> annotation.structuredValue() != null
+						&& Boolean.TRUE.equals(annotation.structuredValue().isScalar()))
+				.forEach(annotation -> scalarAnnotations.put(annotation.name().replaceAll("^\\((.*)\\)$", "$1"),
+						String.valueOf(annotation.structuredValue().value())));
+
+		return scalarAnnotations;
+	}
+
+	private static ResourceDefinition getResourceDefinition(final ResourceDefinition parentResource,
+			final Resource resource) {
+		final ResourceDefinition resourceDefinition = new ResourceDefinition(parentResource,
+				resource.displayName().value(), resource.resourcePath(), getTypeDefinitions(resource.uriParameters()));
+
+		resource.methods().forEach(method -> resourceDefinition.addMethod(new MethodDefinition(resourceDefinition,
+				method.method(), method.is().stream().map(trait -> trait.name()).collect(Collectors.toList()),
+				getTypeDefinitions(method.headers()), getTypeDefinitions(method.queryParameters()),
+				getTypeDefinitions(method.body()),
+				method.responses().stream().map(response -> new ResponseDefinition(response.code().value(),
+						getTypeDefinitions(response.body()))).collect(Collectors.toList()),
+				getAnnotations(method.annotations()))));
+
+		resource.resources().forEach(
+				subResource -> resourceDefinition.addResource(getResourceDefinition(resourceDefinition, subResource)));
+
+		return resourceDefinition;
+	}
+
+	public static ApiDefinition parse(final Path ramlFile) throws Exception {
+		final RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi(ramlFile.toFile());
+
+		if (ramlModelResult.hasErrors()) {
+			throw new Exception(ramlModelResult.getValidationResults().stream().map(result -> result.getMessage())
+					.collect(Collectors.joining("\n")));
+		}
+
+		final Api api = ramlModelResult.getApiV10();
+		final ApiDefinition apiDefinition = new ApiDefinition(api.title().value(),
+				api.mediaType().stream().map(mimeType -> mimeType.value()).collect(Collectors.toList()));
+
+		api.resources().forEach(resource -> apiDefinition.addResource(getResourceDefinition(null, resource)));
+
+		return apiDefinition;
+	}
+
+	private static ApiDefinition read(final Path cacheFile, final String cacheKey) {
+		if (!Files.isReadable(cacheFile)) {
+			return null;
+		}
+
+		try (final ObjectInputStream cacheReader = new ObjectInputStream(
+				new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+			return cacheKey.equals(cacheReader.readUTF()) ? (ApiDefinition) cacheReader.readObject() : null;
+		} catch (Exception e) {
+			// A stale or unreadable cache file only means the RAML is parsed again
+			return null;
+		}
+	}
+
+	private static void write(final Path cacheFile, final String cacheKey, final ApiDefinition apiDefinition) {
+		try {
+			Files.createDirectories(cacheFile.getParent());
+
+			try (final ObjectOutputStream cacheWriter = new ObjectOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(cacheFile)))) {
+				cacheWriter.writeUTF(cacheKey);
+				cacheWriter.writeObject(apiDefinition);
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	public static ApiDefinition getApi(final String projectDirectory, final String ramlFilePath) throws Exception {
+		final Path ramlFile = Paths.get(ramlFilePath);
+		final String cacheKey = getCacheKey(ramlFile);
+
+		synchronized (memoryCache) {
+			if (memoryCache.containsKey(cacheKey)) {
+				memoryHits.incrementAndGet();
+				return memoryCache.get(cacheKey);
+			}
+		}
+
+		final Path cacheFile = Paths.get(projectDirectory, CACHE_DIRECTORY,
+				"raml-model-" + ramlFile.getFileName() + ".ser");
+		ApiDefinition apiDefinition = read(cacheFile, cacheKey);
+
+		if (apiDefinition == null) {
+			misses.incrementAndGet();
+			apiDefinition = parse(ramlFile);
+			write(cacheFile, cacheKey, apiDefinition);
+		} else {
+			diskHits.incrementAndGet();
+		}
+
+		synchronized (memoryCache) {
+			memoryCache.put(cacheKey, apiDefinition);
+		}
+
+		return apiDefinition;
+	}
+
+	public static String getStatistics() {
+		return "RAML model cache hits: " + (memoryHits.get() + diskHits.get()) + " (memory " + memoryHits.get()
+				+ ", disk " + diskHits.get() + "), misses: " + misses.get();
+	}
+}
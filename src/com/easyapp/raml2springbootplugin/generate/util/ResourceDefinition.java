@@ -0,0 +1,56 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResourceDefinition implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final ResourceDefinition parentResource;
+	private final String displayName;
+	private final String resourcePath;
+	private final List<TypeDefinition> uriParameters;
+	private final List<MethodDefinition> methods = new ArrayList<>();
+	private final List<ResourceDefinition> resources = new ArrayList<>();
+
+	public ResourceDefinition(final ResourceDefinition parentResource, final String displayName,
+			final String resourcePath, final List<TypeDefinition> uriParameters) {
+		this.parentResource = parentResource;
+		this.displayName = displayName;
+		this.resourcePath = resourcePath;
+		this.uriParameters = uriParameters;
+	}
+
+	public ResourceDefinition getParentResource() {
+		return parentResource;
+	}
+
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	public String getResourcePath() {
+		return resourcePath;
+	}
+
+	public List<TypeDefinition> getUriParameters() {
+		return uriParameters;
+	}
+
+	public List<MethodDefinition> getMethods() {
+		return methods;
+	}
+
+	public List<ResourceDefinition> getResources() {
+		return resources;
+	}
+
+	public void addMethod(final MethodDefinition method) {
+		methods.add(method);
+	}
+
+	public void addResource(final ResourceDefinition resource) {
+		resources.add(resource);
+	}
+}
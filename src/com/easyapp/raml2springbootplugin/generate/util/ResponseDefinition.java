@@ -0,0 +1,24 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class ResponseDefinition implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final String code;
+	private final List<TypeDefinition> body;
+
+	public ResponseDefinition(final String code, final List<TypeDefinition> body) {
+		this.code = code;
+		this.body = body;
+	}
+
+	public String getCode() {
+		return code;
+	}
+
+	public List<TypeDefinition> getBody() {
+		return body;
+	}
+}
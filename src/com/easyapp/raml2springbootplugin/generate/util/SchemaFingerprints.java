@@ -0,0 +1,53 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class SchemaFingerprints {
+	public static final String FINGERPRINTS_PATH = "target/raml2springboot/schema-fingerprints";
+
+	private final Path fingerprintsPath;
+	private final Map<String, String> previousFingerprints = new ConcurrentSkipListMap<>();
+	private final Map<String, String> fingerprints = new ConcurrentSkipListMap<>();
+
+	public SchemaFingerprints(final String projectDirectory) {
+		this.fingerprintsPath = Paths.get(projectDirectory).resolve(FINGERPRINTS_PATH);
+
+		if (Files.isReadable(fingerprintsPath)) {
+			try {
+				Files.readAllLines(fingerprintsPath, StandardCharsets.UTF_8).stream().filter(line -> line.contains(" "))
+						.forEach(line -> previousFingerprints.put(line.substring(line.indexOf(' ') + 1),
+								line.substring(0, line.indexOf(' '))));
+			} catch (IOException e) {
+				// Without the previous fingerprints every table is treated as changed
+				previousFingerprints.clear();
+			}
+		}
+	}
+
+	public boolean isUnchanged(final String tableName, final String fingerprint) {
+		fingerprints.put(tableName, fingerprint);
+
+		return fingerprint.equals(previousFingerprints.get(tableName));
+	}
+
+	// Saved through the manifest, so the fingerprints are only updated together with the entities they describe
+	public void save(final GenerationManifest manifest) throws IOException {
+		if (fingerprints.equals(previousFingerprints)) {
+			return;
+		}
+
+		final StringBuilder content = new StringBuilder();
+
+		for (final Map.Entry<String, String> entry : fingerprints.entrySet()) {
+			content.append(entry.getValue()).append(" ").append(entry.getKey()).append(System.lineSeparator());
+		}
+
+		manifest.writeArtifact(fingerprintsPath, content.toString(), true);
+	}
+}
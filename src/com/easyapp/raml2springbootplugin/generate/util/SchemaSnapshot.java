@@ -0,0 +1,205 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+public class SchemaSnapshot {
+	private List<Table> tables = new ArrayList<>();
+
+	public static class Table {
+		private String tableName = null;
+		private List<Column> columns = new ArrayList<>();
+
+		public Table() {
+
+		}
+
+		public Table(final TableDefinition tableDefinition) {
+			this.tableName = tableDefinition.getTableName();
+			this.columns = tableDefinition.getColumns().stream().map(Column::new).collect(Collectors.toList());
+		}
+
+		public String getTableName() {
+			return tableName;
+		}
+
+		public void setTableName(final String tableName) {
+			this.tableName = tableName;
+		}
+
+		public List<Column> getColumns() {
+			return columns;
+		}
+
+		public void setColumns(final List<Column> columns) {
+			this.columns = columns;
+		}
+
+		@JsonIgnore
+		public TableDefinition getTableDefinition() {
+			final TableDefinition tableDefinition = new TableDefinition(tableName);
+			tableDefinition.setColumns(columns.stream().map(Column::getColumnDefinition).collect(Collectors.toList()));
+
+			return tableDefinition;
+		}
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public static class Column {
+		private String columnName = null;
+		private JDBCType dataType = null;
+		private int columnOrder = 0;
+		private boolean nullable = false;
+		private boolean autoIncrement = false;
+		private Integer primaryKeyOrder = null;
+		private String referencedTableName = null;
+		private String referencedColumnName = null;
+
+		public Column() {
+
+		}
+
+		public Column(final ColumnDefinition columnDefinition) {
+			this.columnName = columnDefinition.getColumnName();
+			this.dataType = columnDefinition.getDataType();
+			this.columnOrder = columnDefinition.getColumnOrder();
+			this.nullable = columnDefinition.isNullable();
+			this.autoIncrement = columnDefinition.isAutoIncrement();
+			this.primaryKeyOrder = columnDefinition.isInPrimaryKey() ? columnDefinition.getPrimaryKeyOrder() : null;
+			this.referencedTableName = columnDefinition.getReferencedTableName();
+			this.referencedColumnName = columnDefinition.getReferencedColumnName();
+		}
+
+		public String getColumnName() {
+			return columnName;
+		}
+
+		public void setColumnName(final String columnName) {
+			this.columnName = columnName;
+		}
+
+		public JDBCType getDataType() {
+			return dataType;
+		}
+
+		public void setDataType(final JDBCType dataType) {
+			this.dataType = dataType;
+		}
+
+		public int getColumnOrder() {
+			return columnOrder;
+		}
+
+		public void setColumnOrder(final int columnOrder) {
+			this.columnOrder = columnOrder;
+		}
+
+		public boolean isNullable() {
+			return nullable;
+		}
+
+		public void setNullable(final boolean nullable) {
+			this.nullable = nullable;
+		}
+
+		public boolean isAutoIncrement() {
+			return autoIncrement;
+		}
+
+		public void setAutoIncrement(final boolean autoIncrement) {
+			this.autoIncrement = autoIncrement;
+		}
+
+		public Integer getPrimaryKeyOrder() {
+			return primaryKeyOrder;
+		}
+
+		public void setPrimaryKeyOrder(final Integer primaryKeyOrder) {
+			this.primaryKeyOrder = primaryKeyOrder;
+		}
+
+		public String getReferencedTableName() {
+			return referencedTableName;
+		}
+
+		public void setReferencedTableName(final String referencedTableName) {
+			this.referencedTableName = referencedTableName;
+		}
+
+		public String getReferencedColumnName() {
+			return referencedColumnName;
+		}
+
+		public void setReferencedColumnName(final String referencedColumnName) {
+			this.referencedColumnName = referencedColumnName;
+		}
+
+		@JsonIgnore
+		public ColumnDefinition getColumnDefinition() {
+			final ColumnDefinition columnDefinition = new ColumnDefinition(columnName, dataType, columnOrder, nullable,
+					autoIncrement);
+
+			if (primaryKeyOrder != null) {
+				columnDefinition.setPrimaryKeyOrder(primaryKeyOrder);
+			}
+
+			if (referencedTableName != null) {
+				columnDefinition.setForeignKey(referencedTableName, referencedColumnName);
+			}
+
+			return columnDefinition;
+		}
+	}
+
+	public SchemaSnapshot() {
+
+	}
+
+	public SchemaSnapshot(final Map<String, TableDefinition> tableDefinitions) {
+		this.tables = tableDefinitions.values().stream().map(Table::new).collect(Collectors.toList());
+	}
+
+	public List<Table> getTables() {
+		return tables;
+	}
+
+	public void setTables(final List<Table> tables) {
+		this.tables = tables;
+	}
+
+	@JsonIgnore
+	public Map<String, TableDefinition> getTableDefinitions() {
+		return tables.stream().collect(Collectors.toMap(Table::getTableName, Table::getTableDefinition,
+				(t1, t2) -> t1, LinkedHashMap::new));
+	}
+
+	private static ObjectMapper getMapper(final Path snapshotPath) {
+		final String fileName = snapshotPath.getFileName().toString();
+
+		return fileName.endsWith(".yaml") || fileName.endsWith(".yml") ? new ObjectMapper(new YAMLFactory())
+				: new ObjectMapper();
+	}
+
+	public static SchemaSnapshot read(final Path snapshotPath) throws Exception {
+		return getMapper(snapshotPath).readValue(Files.readAllBytes(snapshotPath), SchemaSnapshot.class);
+	}
+
+	public String getContent(final Path snapshotPath) throws Exception {
+		return getMapper(snapshotPath).writerWithDefaultPrettyPrinter().writeValueAsString(this);
+	}
+
+	public static String getTableContent(final TableDefinition tableDefinition) throws Exception {
+		return new ObjectMapper().writeValueAsString(new Table(tableDefinition));
+	}
+}
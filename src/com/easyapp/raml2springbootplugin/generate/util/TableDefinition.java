@@ -2,13 +2,16 @@ package com.easyapp.raml2springbootplugin.generate.util;
 
 import java.sql.JDBCType;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class TableDefinition {
 	private String tableName;
 	private List<ColumnDefinition> columns;
+	private final Map<String, ColumnDefinition> columnsByName = new HashMap<>();
 	private static final Comparator<ColumnDefinition> byColumnOrder = (e1,
 			e2) -> e1.getColumnOrder() > e2.getColumnOrder() ? 1 : e1.getColumnOrder() == e2.getColumnOrder() ? 0 : -1;
 
@@ -34,10 +37,20 @@ public class TableDefinition {
 
 	public void setColumns(final List<ColumnDefinition> columns) {
 		this.columns = columns;
+		this.columnsByName.clear();
+
+		if (columns != null) {
+			columns.forEach(column -> columnsByName.putIfAbsent(column.getColumnName().toUpperCase(), column));
+		}
 	}
 
 	public void addColumn(final ColumnDefinition column) {
 		this.columns.add(column);
+		this.columnsByName.putIfAbsent(column.getColumnName().toUpperCase(), column);
+	}
+
+	public ColumnDefinition getColumn(final String columnName) {
+		return columnName == null ? null : columnsByName.get(columnName.toUpperCase());
 	}
 
 	public boolean hasCompositeKey() {
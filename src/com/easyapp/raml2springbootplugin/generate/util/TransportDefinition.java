@@ -1,10 +1,10 @@
 package com.easyapp.raml2springbootplugin.generate.util;
 
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-
-import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
-import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.easyapp.raml2springbootplugin.generate.CodeGenerator;
 
@@ -12,16 +12,21 @@ public class TransportDefinition {
 	private String packageName;
 	private String className;
 	private String extendsFrom;
-	private ObjectTypeDeclaration objectType;
+	private TypeDefinition objectType;
+	private final Map<String, TypeDefinition> properties = new LinkedHashMap<>();
 
 	public TransportDefinition(final String packageName, final String className, final String extendsFrom,
-			final ObjectTypeDeclaration objectType) {
+			final TypeDefinition objectType) {
 		this.packageName = packageName;
 		this.className = packageName.equals(CodeGenerator.DEFAULT_TRANSPORT_PACKAGE) ? className + "Transport"
 				: className;
 		this.extendsFrom = extendsFrom != null && packageName.equals(CodeGenerator.DEFAULT_TRANSPORT_PACKAGE)
 				? extendsFrom + "Transport" : extendsFrom;
 		this.objectType = objectType;
+
+		if (objectType != null && objectType.getProperties() != null) {
+			objectType.getProperties().forEach(property -> properties.putIfAbsent(property.getName(), property));
+		}
 	}
 
 	public String getPackageName() {
@@ -36,34 +41,34 @@ public class TransportDefinition {
 		return extendsFrom;
 	}
 
-	public ObjectTypeDeclaration getObjectType() {
+	public TypeDefinition getObjectType() {
 		return objectType;
 	}
 
 	public String getType() {
-		return objectType == null ? null : objectType.type();
+		return objectType == null ? null : objectType.getType();
 	}
 
-	public List<TypeDeclaration> getDeclaredProperties(final List<TransportDefinition> transportTypes) {
-		if (extendsFrom != null && transportTypes != null) {
-			final TransportDefinition transport = transportTypes.stream()
-					.filter(transportType -> extendsFrom.equals(transportType.getClassName())).findFirst().orElse(null);
+	public TypeDefinition getProperty(final String name) {
+		return properties.get(name);
+	}
 
-			if (transport != null && transport.getObjectType().properties() != null
-					&& objectType.properties() != null) {
-				final List<TypeDeclaration> declaredProperties = new ArrayList<>();
-				declaredProperties.addAll(objectType.properties());
+	public List<TypeDefinition> getDeclaredProperties(final Map<String, TransportDefinition> transportTypes) {
+		if (extendsFrom != null && transportTypes != null) {
+			final TransportDefinition transport = transportTypes.get(extendsFrom);
 
-				transport.getObjectType().properties().forEach(parentProperty -> {
-					declaredProperties.removeIf(property -> GeneratorUtil.getMemberName(property)
-							.equals(GeneratorUtil.getMemberName(parentProperty)));
-				});
+			if (transport != null && transport.getObjectType().getProperties() != null
+					&& objectType.getProperties() != null) {
+				final Set<String> parentMemberNames = transport.getObjectType().getProperties().stream()
+						.map(GeneratorUtil::getMemberName).collect(Collectors.toSet());
 
-				return declaredProperties;
+				return objectType.getProperties().stream()
+						.filter(property -> !parentMemberNames.contains(GeneratorUtil.getMemberName(property)))
+						.collect(Collectors.toList());
 			}
 		}
 
-		return objectType == null ? null : objectType.properties();
+		return objectType == null ? null : objectType.getProperties();
 	}
 
 	@Override
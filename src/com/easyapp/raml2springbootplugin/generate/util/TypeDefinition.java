@@ -0,0 +1,72 @@
+package com.easyapp.raml2springbootplugin.generate.util;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class TypeDefinition implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final String name;
+	private final String type;
+	private final String parentType;
+	private final String displayName;
+	private final boolean required;
+	private final String defaultValue;
+	private final boolean objectType;
+	private final List<TypeDefinition> properties;
+	private final TypeDefinition items;
+
+	public TypeDefinition(final String name, final String type, final String parentType, final String displayName,
+			final boolean required, final String defaultValue, final boolean objectType,
+			final List<TypeDefinition> properties, final TypeDefinition items) {
+		this.name = name;
+		this.type = type;
+		this.parentType = parentType;
+		this.displayName = displayName;
+		this.required = required;
+		this.defaultValue = defaultValue;
+		this.objectType = objectType;
+		this.properties = properties;
+		this.items = items;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public String getParentType() {
+		return parentType;
+	}
+
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	public boolean isRequired() {
+		return required;
+	}
+
+	public String getDefaultValue() {
+		return defaultValue;
+	}
+
+	public boolean isObjectType() {
+		return objectType;
+	}
+
+	public boolean isArrayType() {
+		return items != null;
+	}
+
+	public List<TypeDefinition> getProperties() {
+		return properties;
+	}
+
+	public TypeDefinition getItems() {
+		return items;
+	}
+}
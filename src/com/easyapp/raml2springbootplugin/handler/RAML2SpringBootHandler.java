@@ -8,9 +8,8 @@ import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
@@ -18,7 +17,6 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.handlers.HandlerUtil;
 
 import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
-import com.easyapp.raml2springbootplugin.generate.RAML2SpringBoot;
 
 public class RAML2SpringBootHandler extends AbstractHandler {
 	private CodeGenConfig codeGenConfig = null;
@@ -52,30 +50,25 @@ public class RAML2SpringBootHandler extends AbstractHandler {
 	@Override
 	public Object execute(final ExecutionEvent event) throws ExecutionException {
 		final Shell shell = HandlerUtil.getActiveShell(event);
-		final MessageDialog dialog = new MessageDialog(shell, "RAML2SpringBootPlugin", null,
-						"Operation in progress. Please wait...", MessageDialog.INFORMATION, new String[] { "Ok" }, 0);
-		dialog.setBlockOnOpen(false);
-		dialog.open();
 
 		try {
 			final String errorMessage = getCodeGenConfig(HandlerUtil.getActiveMenuSelection(event));
 
 			if (errorMessage == null) {
-				RAML2SpringBoot.generate(codeGenConfig);
+				final RAML2SpringBootJob job = new RAML2SpringBootJob(codeGenConfig, project);
 
-				dialog.close();
-				MessageDialog.openInformation(shell, "RAML2SpringBootPlugin",
-						"Successfully executed RAML to Spring Boot");
-
-				if (project != null) {
-					try {
-						project.refreshLocal(IResource.DEPTH_INFINITE, new NullProgressMonitor());
-					} catch (final CoreException e) {
-						e.printStackTrace();
+				// Failures are reported by the job status, only success needs a message
+				job.addJobChangeListener(new JobChangeAdapter() {
+					@Override
+					public void done(final IJobChangeEvent jobEvent) {
+						if (jobEvent.getResult().isOK() && !shell.isDisposed()) {
+							shell.getDisplay().asyncExec(() -> MessageDialog.openInformation(shell,
+									"RAML2SpringBootPlugin", "Successfully executed RAML to Spring Boot"));
+						}
 					}
-				}
+				});
+				job.schedule();
 			} else {
-				dialog.close();
 				MessageDialog.openInformation(shell, "RAML2SpringBootPlugin",
 						"RAML to Spring Boot was NOT executed because " + errorMessage);
 			}
@@ -84,7 +77,6 @@ public class RAML2SpringBootHandler extends AbstractHandler {
 			e.printStackTrace(new PrintWriter(writer));
 			e.printStackTrace();
 
-			dialog.close();
 			MessageDialog.openInformation(shell, "RAML2SpringBootPlugin",
 					"Error encountered while generating Spring Boot code, Error Message: " + writer.toString());
 		}
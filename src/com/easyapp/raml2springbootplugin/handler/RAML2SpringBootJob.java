@@ -0,0 +1,113 @@
+package com.easyapp.raml2springbootplugin.handler;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+import com.easyapp.raml2springbootplugin.config.CodeGenConfig;
+import com.easyapp.raml2springbootplugin.generate.RAML2SpringBoot;
+import com.easyapp.raml2springbootplugin.generate.util.GenerationMetrics;
+
+public class RAML2SpringBootJob extends WorkspaceJob {
+	public static final String PLUGIN_ID = "RAML2SpringBootPlugin";
+
+	private final CodeGenConfig codeGenConfig;
+	private final IProject project;
+
+	private static class ProgressListener implements GenerationMetrics.Listener {
+		private final SubMonitor monitor;
+
+		private ProgressListener(final SubMonitor monitor) {
+			this.monitor = monitor;
+		}
+
+		@Override
+		public synchronized void phaseStarted(final String name) {
+			monitor.subTask("Generating " + name);
+			monitor.checkCanceled();
+		}
+
+		// The number of classes is only known at the end, so every class takes a share of the remaining work
+		@Override
+		public synchronized void artifactGenerated(final Path artifactPath, final boolean written) {
+			monitor.setWorkRemaining(100).split(1);
+			monitor.subTask((written ? "Generated " : "Unchanged ") + artifactPath.getFileName());
+		}
+	}
+
+	public RAML2SpringBootJob(final CodeGenConfig codeGenConfig, final IProject project) {
+		super("RAML to Spring Boot: " + project.getName());
+		this.codeGenConfig = codeGenConfig;
+		this.project = project;
+
+		// Only the target project is locked, the rest of the workspace stays usable while generating
+		setRule(project);
+		setUser(true);
+	}
+
+	private void refresh(final List<Path> artifacts, final SubMonitor monitor) throws CoreException {
+		final IWorkspaceRoot workspaceRoot = project.getWorkspace().getRoot();
+		final Set<IResource> refreshedResources = new HashSet<>();
+
+		monitor.setWorkRemaining(artifacts.size());
+
+		for (final Path artifact : artifacts) {
+			IResource resource = workspaceRoot
+					.getFileForLocation(org.eclipse.core.runtime.Path.fromOSString(artifact.toString()));
+
+			if (resource == null) {
+				monitor.worked(1);
+				continue;
+			}
+
+			// Folders created by the generator are not in the workspace yet, so the outermost new one is refreshed
+			while (resource.getParent() != null && !resource.getParent().exists()) {
+				resource = resource.getParent();
+			}
+
+			if (refreshedResources.add(resource)) {
+				resource.refreshLocal(resource.getType() == IResource.FILE ? IResource.DEPTH_ZERO
+						: IResource.DEPTH_INFINITE, monitor.split(1));
+			} else {
+				monitor.worked(1);
+			}
+		}
+	}
+
+	@Override
+	public IStatus runInWorkspace(final IProgressMonitor monitor) throws CoreException {
+		final SubMonitor progress = SubMonitor.convert(monitor, "Generating Spring Boot code", 100);
+		codeGenConfig.getMetrics().setListener(new ProgressListener(progress.split(90)));
+
+		try {
+			RAML2SpringBoot.generate(codeGenConfig);
+		} catch (final Throwable e) {
+			// Canceled and failed runs leave the project untouched, the generated files are only staged
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+
+			e.printStackTrace();
+
+			return new Status(IStatus.ERROR, PLUGIN_ID,
+					"Error encountered while generating Spring Boot code, Error Message: " + e.getMessage(), e);
+		} finally {
+			codeGenConfig.getMetrics().setListener(null);
+		}
+
+		refresh(codeGenConfig.getManifest().getCommittedArtifacts(), progress.split(10));
+
+		return Status.OK_STATUS;
+	}
+}